@@ -2,7 +2,12 @@ package com.example.spacechase;
 
 import com.example.spacechase.controllers.Controller;
 import com.example.spacechase.controllers.SettingsController;
+import com.example.spacechase.services.HighScoreStore;
+import com.example.spacechase.services.LevelTemplateCache;
+import com.example.spacechase.models.level.Tile;
+import com.example.spacechase.services.PersistenceService;
 import com.example.spacechase.services.SoundEngine;
+import com.example.spacechase.services.SpriteAtlas;
 import com.example.spacechase.utils.Data;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -14,6 +19,7 @@ import javafx.stage.Screen;
 import javafx.stage.Stage;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Objects;
 
 /**
@@ -21,13 +27,32 @@ import java.util.Objects;
  * the required fonts and launch the game with main menu.
  * @author Tristan Tsang
  * @author Karl Clifford
- * @version 1.0.2
+ * @version 1.0.8
  */
 public class App extends Application {
     /**
      * Create the music player that will be used to play global audio.
      */
     public static final SoundEngine MUSIC_PLAYER = new SoundEngine();
+    /**
+     * Service that writes the files of the game in the background.
+     */
+    public static final PersistenceService PERSISTENCE =
+            new PersistenceService();
+    /**
+     * High scores of every level, written in the background.
+     */
+    public static final HighScoreStore HIGH_SCORES =
+            new HighScoreStore(PERSISTENCE);
+    /**
+     * Templates of the fresh levels, shared by every profile.
+     */
+    public static final LevelTemplateCache LEVEL_TEMPLATES =
+            new LevelTemplateCache();
+    /**
+     * Decoded frames of every sprite, shared by every level.
+     */
+    public static final SpriteAtlas SPRITES = new SpriteAtlas();
     /**
      * Default width of screen.
      */
@@ -77,6 +102,14 @@ public class App extends Application {
      * Name of directory that contains all fonts.
      */
     private static final String FONTS_DIRECT = "fonts";
+    /**
+     * Name of directory that contains all sprites.
+     */
+    private static final String SPRITES_DIRECT = "images";
+    /**
+     * Extension of the sprites that are packed into the atlas.
+     */
+    private static final String SPRITE_EXTENSION = ".gif";
 
     /**
      * @param stage primary stage of the game.
@@ -104,6 +137,17 @@ public class App extends Application {
         stage.setFullScreenExitKeyCombination(KeyCombination.NO_MATCH);
         stage.setMaximized(true);
         stage.show();
+
+        loadSprites();
+    }
+
+    /**
+     * Waits for the files that are still being written before the
+     * game closes.
+     */
+    @Override
+    public void stop() {
+        PERSISTENCE.close();
     }
 
     /**
@@ -116,6 +160,25 @@ public class App extends Application {
         launch(args);
     }
 
+    /**
+     * Starts packing every sprite into the atlas at the size of a tile
+     * on its own thread, so the title screen does not wait for it.
+     */
+    private static void loadSprites() {
+        File spritesDirect = Data.getFileFromPath(SPRITES_DIRECT);
+        ArrayList<String> paths = new ArrayList<>();
+
+        // For every sprite in sprites directory, add its path.
+        for (File file : Objects.requireNonNull(spritesDirect.listFiles())) {
+            // Only sprites are drawn at the size of a tile.
+            if (file.getName().endsWith(SPRITE_EXTENSION)) {
+                paths.add(SPRITES_DIRECT + "/" + file.getName());
+            }
+        }
+
+        SPRITES.loadInBackground(paths, Tile.TILE_SIZE * SCALE_Y);
+    }
+
     /**
      * Loads every font from the font resource folder.
      */
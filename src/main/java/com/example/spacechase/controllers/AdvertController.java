@@ -1,6 +1,6 @@
 package com.example.spacechase.controllers;
 
-import com.example.spacechase.models.Level;
+import com.example.spacechase.models.level.LevelRenderer;
 import com.example.spacechase.services.SoundEngine;
 import com.example.spacechase.utils.Data;
 import javafx.animation.PauseTransition;
@@ -50,9 +50,9 @@ public class AdvertController extends Controller {
      * Start will play a
      * video and load a button after a determined amount of time
      * to restart the level.
-     * @param level the current level the player is on.
+     * @param renderer renderer of the current level the player is on.
      */
-    public void start(Level level) {
+    public void start(LevelRenderer renderer) {
         File file = Data.getFileFromPath("media/ads/ad1.mp4");
         Media media = new Media(file.toURI().toString());
 
@@ -75,7 +75,7 @@ public class AdvertController extends Controller {
             mediaPlayer.stop();
             LevelEndedMenuController controller = (LevelEndedMenuController)
                     loadFxml("fxml/levelEndedMenu.fxml");
-            controller.startFailMenu(level);
+            controller.startFailMenu(renderer);
         });
 
         PauseTransition pt = new PauseTransition(Duration.seconds(TIMER));
@@ -1,8 +1,8 @@
 package com.example.spacechase.controllers;
 
 import com.example.spacechase.App;
-import com.example.spacechase.models.Level;
 import com.example.spacechase.models.level.GameClock;
+import com.example.spacechase.models.level.LevelRenderer;
 import com.example.spacechase.services.SoundEngine;
 import javafx.animation.AnimationTimer;
 import javafx.fxml.FXML;
@@ -40,9 +40,9 @@ public class CutsceneController extends Controller {
     @FXML
     private Button skipButton;
     /**
-     * Stores the level of the game.
+     * Stores the renderer of the level of the game.
      */
-    private Level level;
+    private LevelRenderer renderer;
     /**
      * Message of this cutscene.
      */
@@ -52,14 +52,14 @@ public class CutsceneController extends Controller {
      * Starts the cutscene.
      */
     public void start() {
-        GameClock gameClock = level.getClock();
+        GameClock gameClock = renderer.getLevel().getClock();
         gameClock.setRun(false);
 
         // Resumes the game if there's no message.
         if (message == null) {
             resumeMusic();
             gameClock.setRun(true);
-            setRoot(level.getPane());
+            setRoot(renderer.getPane());
             return;
         }
 
@@ -116,7 +116,7 @@ public class CutsceneController extends Controller {
             } else {
                 resumeMusic();
                 gameClock.setRun(true);
-                setRoot(level.getPane());
+                setRoot(renderer.getPane());
             }
         });
     }
@@ -140,11 +140,11 @@ public class CutsceneController extends Controller {
     }
 
     /**
-     * Sets the level of the cutscene.
-     * @param level level of the cutscene.
+     * Sets the renderer of the level of the cutscene.
+     * @param renderer renderer of the level of the cutscene.
      */
-    public void setLevel(Level level) {
-        this.level = level;
+    public void setRenderer(LevelRenderer renderer) {
+        this.renderer = renderer;
     }
 
 
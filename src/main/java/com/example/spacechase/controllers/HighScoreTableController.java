@@ -1,5 +1,7 @@
 package com.example.spacechase.controllers;
 
+import com.example.spacechase.App;
+import com.example.spacechase.services.Leaderboard;
 import com.example.spacechase.utils.Data;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
@@ -10,21 +12,16 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import java.io.File;
-import java.util.*;
-import java.util.Map.Entry;
+import java.util.Map;
 
 /**
  * This class represents a controller for high score table
  * menu. It contains buttons where they can show high score
  * table for each level after clicking them.
  * @author Tristan Tsang
- * @version 1.0.3
+ * @version 1.0.6
  */
 public class HighScoreTableController extends Controller {
-    /**
-     * Number limit of scores showing in table.
-     */
-    private static final int LIMIT = 10;
     /**
      * Opacity when level button is darken.
      * @see javafx.scene.control.Button
@@ -83,13 +80,18 @@ public class HighScoreTableController extends Controller {
              * opens up a score board for that level.
              */
             for (File levelFile : levelFiles) {
-                String levelFileName = levelFile.getName();
-                String levelId = levelFileName.replaceAll("(.txt)", "");
+                // Skip files that are not the level played for their id.
+                if (!Data.isLevelFile(levelFile) || !levelFile.equals(
+                        Data.getFreshLevelFile(Data.getLevelId(levelFile)))) {
+                    continue;
+                }
 
-                VBox scoreBox = createScoreBox(levelFileName);
+                int levelId = Data.getLevelId(levelFile);
+
+                VBox scoreBox = createScoreBox(levelId);
 
                 Button button = new Button();
-                button.setText(levelId);
+                button.setText(String.valueOf(levelId));
                 button.setOnMouseClicked(e -> {
                     showNode(scoreBox);
                     brightenNode(button);
@@ -152,41 +154,30 @@ public class HighScoreTableController extends Controller {
 
     /**
      * Creates a high score table for given level,
-     * lists out profile names and their score in
-     * descending order of scores.
-     * @param levelFileName level file name of this score board.
+     * lists out the names and scores of the leaderboard
+     * in descending order of scores.
+     * @param id id of the level of this score board.
      * @return a vBox of score box of level.
      */
-    private VBox createScoreBox(String levelFileName) {
+    private VBox createScoreBox(int id) {
         VBox scoreBox = new VBox();
         scoreBox.setSpacing(SCORE_BOX_SPACING);
 
-        int id = Integer.parseInt(levelFileName.replaceAll("(.txt)", ""));
-        Map<String, Integer> highScores = Data.getHighScore(id);
-
-        /*
-         * Turn the map to a list and sort them by values in reverse order.
-         */
-        List<Map.Entry<String, Integer>> sortedList = new LinkedList<>(
-                highScores.entrySet());
-        sortedList.sort(Entry.comparingByValue(Comparator.reverseOrder()));
+        Leaderboard leaderboard = App.HIGH_SCORES.getLeaderboard(id);
 
         /*
          * Add each HBox to the score box with their ranking labels.
          */
         int n = 1;
-        for (Map.Entry<String, Integer> entry : sortedList) {
-            // Only the top profiles up to limit.
-            if (n <= LIMIT) {
-                String name = entry.getKey();
-                int score = entry.getValue();
+        for (Map.Entry<String, Integer> entry : leaderboard.getTop()) {
+            String name = entry.getKey();
+            int score = entry.getValue();
 
-                HBox profileBox = createProfileBox(name, score);
-                HBox hBox = new HBox(new Label(n + ". "), profileBox);
-                scoreBox.getChildren().add(hBox);
+            HBox profileBox = createProfileBox(name, score);
+            HBox hBox = new HBox(new Label(n + ". "), profileBox);
+            scoreBox.getChildren().add(hBox);
 
-                n++;
-            }
+            n++;
         }
 
         return scoreBox;
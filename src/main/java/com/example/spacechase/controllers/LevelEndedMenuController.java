@@ -2,6 +2,8 @@ package com.example.spacechase.controllers;
 
 import com.example.spacechase.App;
 import com.example.spacechase.models.Level;
+import com.example.spacechase.models.level.LevelRenderer;
+import com.example.spacechase.services.Leaderboard;
 import com.example.spacechase.services.SoundEngine;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -16,7 +18,7 @@ import javafx.scene.paint.Color;
  * @author Tristan Tsang
  * @author Daniel Halsall
  * @author Karl Clifford
- * @version 1.0.2
+ * @version 1.0.3
  */
 public class LevelEndedMenuController extends Controller {
     /**
@@ -35,6 +37,10 @@ public class LevelEndedMenuController extends Controller {
      * Text that shows on restart button.
      */
     private static final String RESTART_TEXT = "restart";
+    /**
+     * Text that shows the rank of the player in the level.
+     */
+    private static final String RANK_TEXT = "Rank %d of %d";
     /**
      * Fxml file path of level menu.
      * @see javafx.fxml
@@ -46,6 +52,12 @@ public class LevelEndedMenuController extends Controller {
      */
     @FXML
     private Label levelEndedLabel;
+    /**
+     * Label that shows the rank of the player after clearing the level.
+     * @see javafx.scene.control.Label
+     */
+    @FXML
+    private Label rankLabel;
     /**
      * Button that either restarts the level
      * or transfers to the next level.
@@ -58,10 +70,10 @@ public class LevelEndedMenuController extends Controller {
      * Sets action button to next where it can start next
      * level if level is cleared. Otherwise, sets action button
      * to restart where it can restart the current level.
-     * @param level current level that is in.
+     * @param renderer renderer of the current level that is in.
      * @param isLevelCleared level is cleared or not.
      */
-    public void start(Level level, boolean isLevelCleared) {
+    public void start(LevelRenderer renderer, boolean isLevelCleared) {
         /*
          * If the level is cleared, display a level cleared
          * scene with next button that leads to next level.
@@ -72,7 +84,8 @@ public class LevelEndedMenuController extends Controller {
             levelEndedLabel.setText(LEVEL_CLEARED_TEXT);
             levelEndedLabel.setTextFill(Color.GREEN);
             actionButton.setText(NEXT_TEXT);
-            actionButton.setOnMouseClicked(e -> level.next());
+            actionButton.setOnMouseClicked(e -> renderer.next());
+            showRank(renderer.getLevel());
         } else {
             levelEndedLabel.setText(LEVEL_FAILED_TEXT);
             levelEndedLabel.setTextFill(Color.RED);
@@ -81,21 +94,36 @@ public class LevelEndedMenuController extends Controller {
                 AdvertController controller = (AdvertController)
                         new Controller()
                                 .loadFxml("fxml/advert.fxml");
-                controller.start(level);
+                controller.start(renderer);
             });
         }
     }
 
+    /**
+     * Shows the rank of the player among every player of the level.
+     * @param level level that has been cleared.
+     */
+    private void showRank(Level level) {
+        String playerName = level.getFile().getParentFile().getName();
+        Leaderboard leaderboard = App.HIGH_SCORES.getLeaderboard(
+                level.getId());
+
+        rankLabel.setText(String.format(RANK_TEXT,
+                leaderboard.getRank(playerName), leaderboard.getCount()));
+        rankLabel.setManaged(true);
+        rankLabel.setVisible(true);
+    }
+
     /**
      * Level failed menu where restart button restarts
      * the game.
-     * @param level level to be restarted.
+     * @param renderer renderer of the level to be restarted.
      */
-    public void startFailMenu(Level level) {
+    public void startFailMenu(LevelRenderer renderer) {
         levelEndedLabel.setText(LEVEL_FAILED_TEXT);
         levelEndedLabel.setTextFill(Color.RED);
         actionButton.setText(RESTART_TEXT);
-        actionButton.setOnMouseClicked(e -> level.restart());
+        actionButton.setOnMouseClicked(e -> renderer.restart());
     }
 
     /**
@@ -1,22 +1,27 @@
 package com.example.spacechase.controllers;
 
+import com.example.spacechase.App;
 import com.example.spacechase.utils.Data;
-import com.example.spacechase.models.Level;
+import com.example.spacechase.models.level.LevelHeader;
+import com.example.spacechase.models.level.LevelRenderer;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.Tooltip;
 import javafx.scene.layout.FlowPane;
 
-import java.util.Arrays;
-import java.util.Comparator;
-
 /**
  * This class represents a controller for level selection menu.
  * This controller contains components of a buttons for different level
  * and a back button.
  * @author Tristan Tsang
- * @version 1.0.0
+ * @version 1.0.2
  */
 public class LevelMenuController extends Controller {
+    /**
+     * Text that shows the progress of a level that has been started.
+     */
+    private static final String PROGRESS_TEXT = "Time %.0f, score %d";
     /**
      * Player name.
      */
@@ -37,24 +42,36 @@ public class LevelMenuController extends Controller {
     }
 
     /**
-     * Creates a new button for each level. Starts the level
-     * if it is clicked.
+     * Reads the level manifest of the player profile once every file
+     * that is still being written has been written.
      */
     @FXML
     private void initialize() {
-        // Gets all levels from player profile.
-        Level[] levels = Data.getLevelsFromProfile(playerName);
-        // Gets a sorted list of all levels.
-        Level[] sortedLevels = Arrays.stream(levels)
-                .sorted(Comparator.comparing(Level::getId))
-                .toArray(Level[]::new);
+        App.PERSISTENCE.submit(() -> Data.getLevelManifest(playerName))
+                .thenAcceptAsync(this::createButtons, Platform::runLater);
+    }
 
+    /**
+     * Creates a new button for each level. Reads and starts the level
+     * if it is clicked.
+     * @param headers headers of all levels from player profile in order.
+     */
+    private void createButtons(LevelHeader[] headers) {
         // Creates a button for each level exists in player profile.
-        for (Level level : sortedLevels) {
-            int id = level.getId();
+        for (LevelHeader header : headers) {
+            int id = header.getId();
             Button button = new Button();
             button.setText(String.valueOf(id));
-            button.setOnMouseClicked(e -> level.start());
+            button.setOnMouseClicked(e -> App.PERSISTENCE
+                    .readLevel(header.getFile())
+                    .thenAcceptAsync(level -> new LevelRenderer(level).start(),
+                            Platform::runLater));
+
+            // Show the saved progress of a level that has been started.
+            if (header.isStarted()) {
+                button.setTooltip(new Tooltip(String.format(PROGRESS_TEXT,
+                        header.getTime(), header.getScore())));
+            }
 
             levelContainer.getChildren().add(button);
         }
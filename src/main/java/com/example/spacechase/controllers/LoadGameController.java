@@ -1,21 +1,30 @@
 package com.example.spacechase.controllers;
 
+import com.example.spacechase.App;
 import com.example.spacechase.utils.Data;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * This class represents a controller for load game menu.
  * This controller contains components of a buttons for loading
- * and deleting a profile, and a back button.
+ * and deleting a profile, check boxes to delete many profiles at
+ * once, and a back button.
  * @author Tristan Tsang
- * @version 1.0.0
+ * @version 1.0.1
  */
 public class LoadGameController extends Controller {
     /**
@@ -32,12 +41,31 @@ public class LoadGameController extends Controller {
      * Height of bin image.
      */
     private static final int BIN_IMAGE_HEIGHT = 20;
+    /**
+     * Text that shows how many profiles have been deleted.
+     */
+    private static final String PROGRESS_TEXT = "Deleted %d of %d";
+    /**
+     * Fxml file path of load game menu.
+     * @see javafx.fxml
+     */
+    private static final String LOAD_GAME_FXML_PATH = "fxml/loadGame.fxml";
+    /**
+     * Names of the profiles that are selected to be deleted.
+     */
+    private final Set<String> selectedProfiles = new LinkedHashSet<>();
     /**
      * VBox container of profiles.
      * @see javafx.scene.layout.VBox
      */
     @FXML
     private VBox profileContainer;
+    /**
+     * Label that shows the progress of deleting profiles.
+     * @see javafx.scene.control.Label
+     */
+    @FXML
+    private Label progressLabel;
 
     /**
      * Shows every profile with a load button and delete button.
@@ -52,12 +80,14 @@ public class LoadGameController extends Controller {
             hBox.setSpacing(HBOX_SPACING);
             hBox.setAlignment(Pos.CENTER_LEFT);
 
+            CheckBox checkBox = createSelectCheckBox(name);
             Label label = createProfileLabel(name);
 
             Button loadButton = createLoadButton(name);
             Button deleteButton = createDeleteButton(name);
 
-            hBox.getChildren().addAll(label, loadButton, deleteButton);
+            hBox.getChildren().addAll(checkBox, label, loadButton,
+                    deleteButton);
             profileContainer.getChildren().addAll(hBox);
         }
     }
@@ -70,6 +100,54 @@ public class LoadGameController extends Controller {
         loadFxml("fxml/mainMenu.fxml");
     }
 
+    /**
+     * Deletes every selected profile when clicked.
+     */
+    @FXML
+    private void onDeleteSelectedButtonClicked() {
+        // Only delete if a profile has been selected.
+        if (!selectedProfiles.isEmpty()) {
+            deleteProfiles(new ArrayList<>(selectedProfiles));
+        }
+    }
+
+    /**
+     * Deletes profiles in the background, shows the progress and loads
+     * the menu again once they have been deleted.
+     * @param names player names.
+     */
+    private void deleteProfiles(Collection<String> names) {
+        int total = names.size();
+        profileContainer.setDisable(true);
+
+        App.PERSISTENCE.execute(() -> Data.removeProfiles(names,
+                        deleted -> Platform.runLater(() -> progressLabel
+                                .setText(String.format(PROGRESS_TEXT,
+                                        deleted, total)))))
+                .whenCompleteAsync((result, e) ->
+                        loadFxml(LOAD_GAME_FXML_PATH), Platform::runLater);
+    }
+
+    /**
+     * Creates a check box that selects a profile to be deleted.
+     * @param name player name.
+     * @return check box of the profile.
+     */
+    private CheckBox createSelectCheckBox(String name) {
+        CheckBox checkBox = new CheckBox();
+        checkBox.setOnAction(e -> {
+            /* Select the profile if the box is checked, otherwise
+             unselect it. */
+            if (checkBox.isSelected()) {
+                selectedProfiles.add(name);
+            } else {
+                selectedProfiles.remove(name);
+            }
+        });
+
+        return checkBox;
+    }
+
     /**
      * Creates a new profile label.
      * @param name player name
@@ -114,10 +192,7 @@ public class LoadGameController extends Controller {
 
         Button deleteButton = new Button();
         deleteButton.setGraphic(binImage);
-        deleteButton.setOnMouseClicked(e -> {
-            Data.removeProfile(name);
-            loadFxml("fxml/loadGame.fxml");
-        });
+        deleteButton.setOnMouseClicked(e -> deleteProfiles(List.of(name)));
 
         return deleteButton;
     }
@@ -1,8 +1,8 @@
 package com.example.spacechase.controllers;
 
 import com.example.spacechase.App;
-import com.example.spacechase.models.Level;
 import com.example.spacechase.models.level.GameClock;
+import com.example.spacechase.models.level.LevelRenderer;
 import com.example.spacechase.services.SoundEngine;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -42,17 +42,17 @@ public class PauseMenuController extends Controller {
      * the game clock of the level. Sets the restart
      * button to be able to restart the current
      * level.
-     * @param level current level that is in.
+     * @param renderer renderer of the current level that is in.
      */
-    public void start(Level level) {
+    public void start(LevelRenderer renderer) {
         resumeButton.setOnMouseClicked(e -> {
-            GameClock clock = level.getClock();
+            GameClock clock = renderer.getLevel().getClock();
             clock.setRun(true);
 
-            setRoot(level.getPane());
+            setRoot(renderer.getPane());
         });
 
-        restartButton.setOnMouseClicked(e -> level.restart());
+        restartButton.setOnMouseClicked(e -> renderer.restart());
     }
 
     /**
@@ -1,7 +1,7 @@
 package com.example.spacechase.controllers;
 
 import com.example.spacechase.App;
-import com.example.spacechase.models.characters.Player;
+import com.example.spacechase.models.level.LevelRenderer;
 import com.example.spacechase.services.SoundEngine;
 import com.example.spacechase.utils.Control;
 import com.example.spacechase.utils.Data;
@@ -216,7 +216,7 @@ public class SettingsController extends Controller {
     private void readKeybind(String controlStr, String keyCodeStr) {
         Control control = Control.valueOf(controlStr);
         KeyCode keyCode = KeyCode.valueOf(keyCodeStr);
-        Player.setKeybind(control, keyCode);
+        LevelRenderer.setKeybind(control, keyCode);
 
         updateKeybindText(control, keyCode);
     }
@@ -265,7 +265,7 @@ public class SettingsController extends Controller {
             if (!cancelBind.get()) {
                 isKeybinding.set(false);
                 writeSetting(control.toString(), keyCode.toString());
-                Player.setKeybind(control, keyCode);
+                LevelRenderer.setKeybind(control, keyCode);
                 button.setText(keyCode.getName());
             }
 
@@ -1,46 +1,42 @@
 package com.example.spacechase.models;
 
-import com.example.spacechase.App;
+import com.example.spacechase.models.items.Bomb;
+import com.example.spacechase.models.items.Gate;
 import com.example.spacechase.models.items.Note;
+import com.example.spacechase.models.level.Entity;
+import com.example.spacechase.models.level.EntityIndex;
 import com.example.spacechase.models.level.GameClock;
-import com.example.spacechase.controllers.Controller;
-import com.example.spacechase.controllers.LevelEndedMenuController;
-import com.example.spacechase.controllers.PauseMenuController;
 import com.example.spacechase.models.characters.Character;
 import com.example.spacechase.models.characters.Player;
 import com.example.spacechase.models.items.Item;
+import com.example.spacechase.models.level.LevelListener;
 import com.example.spacechase.models.level.Tile;
+import com.example.spacechase.models.level.TileColour;
+import com.example.spacechase.models.level.TileGrid;
 import com.example.spacechase.services.SoundEngine;
-import com.example.spacechase.utils.Data;
-import com.example.spacechase.utils.Direction;
-import javafx.scene.control.Button;
-import javafx.scene.control.Label;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Font;
+import com.example.spacechase.utils.DistanceFieldCache;
+import com.example.spacechase.utils.TileSearch;
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * This class represents a level. A level contains
  * components of id, file, score, tile map, clock, state,
- * characters, items, player, labels and scene. It can be
- * initialised by start, restarted by restart and proceed
- * to next level by next.
+ * characters, items, player and listeners. It holds the game
+ * logic only and can be stepped through its clock without a display,
+ * everything that has to be shown to the player is passed on to
+ * its listeners.
  *
  * @author Tristan Tsang
  * @author Karl Clifford
  * @author Alex Hallsworth
  * @author Ben Thornber
- * @version 1.0.1
+ * @version 1.0.10
  */
 public class Level {
     /**
@@ -48,36 +44,9 @@ public class Level {
      */
     public static final double TILE_SPACING = 0;
     /**
-     * Fxml file path of end credits.
-     * @see javafx.fxml
+     * Normal playback speed of sound effects.
      */
-    private static final String END_CREDITS_FXML_PATH = "fxml/endCredits.fxml";
-    /**
-     * Fxml file path of pause menu.
-     * @see javafx.fxml
-     */
-    private static final String PAUSE_MENU_FXML_PATH = "fxml/pauseMenu.fxml";
-    /**
-     * Fxml file path of level ended menu.
-     * @see javafx.fxml
-     */
-    private static final String LEVEL_ENDED_MENU_FXML_PATH =
-            "fxml/levelEndedMenu.fxml";
-    /**
-     * Spacing of HBox.
-     * @see javafx.scene.layout.HBox
-     */
-    private static final int HBOX_SPACING = 10;
-    /**
-     * Normal font size.
-     * @see javafx.scene.text.Font
-     */
-    private static final int NORM_FONT_SIZE = 16;
-    /**
-     * Font family.
-     * @see javafx.scene.text.Font
-     */
-    private static final String FONT_FAMILY = "neuropol x rg";
+    private static final double NORMAL_SPEED = 1;
     /**
      * ID of the level.
      */
@@ -94,6 +63,10 @@ public class Level {
      * Time of the level.
      */
     private double time;
+    /**
+     * Grid that keeps every component of the tiles.
+     */
+    private final TileGrid grid;
     /**
      * Tile map.
      */
@@ -102,6 +75,23 @@ public class Level {
      * Clock of the level.
      */
     private final GameClock clock;
+    /**
+     * Path finding search engine over the tile map.
+     */
+    private final TileSearch tileSearch;
+    /**
+     * Distance fields over the links of the tile map.
+     */
+    private final DistanceFieldCache distanceFields;
+    /**
+     * Version of the tile graph, changes whenever an item is removed
+     * or a gate is opened.
+     */
+    private int graphVersion;
+    /**
+     * Determines whether the level has ended.
+     */
+    private boolean isEnded;
     /**
      * Player in level.
      */
@@ -115,18 +105,23 @@ public class Level {
      */
     private final ArrayList<Item> items;
     /**
-     * Label of the time.
+     * Characters of the level by their type.
      */
-    private Label timeLabel;
+    private final EntityIndex<Character> characterIndex;
     /**
-     * Label of the score.
+     * Items of the level by their type.
      */
-    private Label scoreLabel;
+    private final EntityIndex<Item> itemIndex;
     /**
-     * Border pane of the level.
-     * @see javafx.scene.layout.Pane
+     * Gates of the level by their colour.
      */
-    private BorderPane pane;
+    private final EnumMap<TileColour, List<Gate>> gates;
+    /**
+     * Listeners that are told about changes of the level. The array is
+     * replaced instead of changed, so telling the listeners does not
+     * allocate and a listener can remove itself while being told.
+     */
+    private LevelListener[] listeners;
 
     /**
      * Creates a level object.
@@ -135,17 +130,24 @@ public class Level {
      * @param file    file of the level.
      * @param time    game time.
      * @param score   score of the player.
-     * @param tileMap map that contains all the tiles.
+     * @param grid    grid that contains all the tiles.
      */
-    public Level(int id, File file, double time, int score, Tile[][] tileMap) {
+    public Level(int id, File file, double time, int score, TileGrid grid) {
         this.id = id;
         this.file = file;
         this.time = time;
         this.score = score;
-        this.tileMap = tileMap;
+        this.grid = grid;
+        this.tileMap = grid.getTileMap();
         this.characters = new ArrayList<>();
         this.items = new ArrayList<>();
+        this.characterIndex = new EntityIndex<>(Character.class);
+        this.itemIndex = new EntityIndex<>(Item.class);
+        this.gates = new EnumMap<>(TileColour.class);
+        this.listeners = new LevelListener[0];
         this.clock = new GameClock(this);
+        this.tileSearch = new TileSearch(tileMap);
+        this.distanceFields = new DistanceFieldCache(this);
     }
 
     /**
@@ -167,11 +169,11 @@ public class Level {
     }
 
     /**
-     * Gets the pane of the level.
-     * @return pane of the level.
+     * Gets the player of the level.
+     * @return player of the level.
      */
-    public Pane getPane() {
-        return pane;
+    public Player getPlayer() {
+        return player;
     }
 
     /**
@@ -192,6 +194,47 @@ public class Level {
         return items;
     }
 
+    /**
+     * Gets the characters of a type in the level. The list is kept
+     * up-to-date by the level and must not be changed.
+     * @param type type of the characters.
+     * @param <T> type of the characters.
+     * @return characters of the type in the map.
+     */
+    public <T extends Character> List<T> getCharacters(Class<T> type) {
+        return characterIndex.get(type);
+    }
+
+    /**
+     * Gets the items of a type in the level. The list is kept
+     * up-to-date by the level and must not be changed.
+     * @param type type of the items.
+     * @param <T> type of the items.
+     * @return items of the type in the map.
+     */
+    public <T extends Item> List<T> getItems(Class<T> type) {
+        return itemIndex.get(type);
+    }
+
+    /**
+     * Gets the number of items of a type in the level.
+     * @param type type of the items.
+     * @return number of items of the type in the map.
+     */
+    public int countItems(Class<? extends Item> type) {
+        return itemIndex.count(type);
+    }
+
+    /**
+     * Gets the gates of a colour in the level. The list is kept
+     * up-to-date by the level and must not be changed.
+     * @param colour colour of the gates.
+     * @return gates of the colour in the map.
+     */
+    public List<Gate> getGates(TileColour colour) {
+        return gates.getOrDefault(colour, Collections.emptyList());
+    }
+
     /**
      * Gets the current game time of the level.
      *
@@ -210,6 +253,37 @@ public class Level {
         return clock;
     }
 
+    /**
+     * Gets the path finding search engine of the level.
+     * @return search engine over the tile map.
+     */
+    public TileSearch getTileSearch() {
+        return tileSearch;
+    }
+
+    /**
+     * Gets the distance fields of the level.
+     * @return cache of distance fields over the tile map.
+     */
+    public DistanceFieldCache getDistanceFields() {
+        return distanceFields;
+    }
+
+    /**
+     * Gets the version of the tile graph.
+     * @return graph version of the level.
+     */
+    public int getGraphVersion() {
+        return graphVersion;
+    }
+
+    /**
+     * Changes the version of the tile graph so that distance
+     * fields are built again. Called whenever an item leaves a tile.
+     */
+    public void updateGraphVersion() {
+        graphVersion++;
+    }
 
     /**
      * @return tileMap
@@ -219,13 +293,52 @@ public class Level {
     }
 
     /**
-     * Sets the new time and updates it in the label.
+     * Gets the grid that keeps every component of the tiles.
+     * @return grid of the level.
+     */
+    public TileGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Gets whether the level has ended.
+     * @return level has ended or not.
+     */
+    public boolean isEnded() {
+        return isEnded;
+    }
+
+    /**
+     * Adds a listener that is told about changes of the level.
+     * @param listener listener of the level.
+     */
+    public void addListener(LevelListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Removes a listener from the level.
+     * @param listener listener of the level.
+     */
+    public void removeListener(LevelListener listener) {
+        listeners = Arrays.stream(listeners)
+                .filter(l -> l != listener)
+                .toArray(LevelListener[]::new);
+    }
+
+    /**
+     * Sets the new time and tells the listeners.
      *
      * @param time new time to be set.
      */
     public void setTime(double time) {
         this.time = time;
-        timeLabel.setText(String.format("Oxygen: %.2f", time));
+
+        // Tell every listener about the new time.
+        for (LevelListener listener : listeners) {
+            listener.timeChanged(time);
+        }
     }
 
     /**
@@ -237,12 +350,46 @@ public class Level {
     }
 
     /**
-     * Sets the new score and updates it in the label.
+     * Sets the new score and tells the listeners.
      * @param score new score to be set.
      */
     public void setScore(int score) {
         this.score = score;
-        scoreLabel.setText(String.format("Score: %s", score));
+
+        // Tell every listener about the new score.
+        for (LevelListener listener : listeners) {
+            listener.scoreChanged(score);
+        }
+    }
+
+    /**
+     * Adds an item to items.
+     * @param item item.
+     */
+    public void addItem(Item item) {
+        items.add(item);
+        itemIndex.add(item);
+
+        // Keep the gate under its colour.
+        if (item instanceof Gate gate) {
+            gates.computeIfAbsent(gate.getColour(), c -> new ArrayList<>())
+                    .add(gate);
+        }
+    }
+
+    /**
+     * Adds a character to characters. Sets it to the player
+     * of this level if it is a player.
+     * @param character character.
+     */
+    public void addCharacter(Character character) {
+        characters.add(character);
+        characterIndex.add(character);
+
+        // Keep the player of this level.
+        if (character instanceof Player p) {
+            player = p;
+        }
     }
 
     /**
@@ -251,6 +398,17 @@ public class Level {
      */
     public void removeItem(Item item) {
         items.remove(item);
+        itemIndex.remove(item);
+
+        // Remove the gate from its colour.
+        if (item instanceof Gate gate) {
+            getGates(gate.getColour()).remove(gate);
+        }
+
+        // Tell every listener that the item is gone.
+        for (LevelListener listener : listeners) {
+            listener.entityRemoved(item);
+        }
     }
 
     /**
@@ -259,353 +417,103 @@ public class Level {
      */
     public void removeCharacter(Character character) {
         characters.remove(character);
+        characterIndex.remove(character);
+
+        // Tell every listener that the character is gone.
+        for (LevelListener listener : listeners) {
+            listener.entityRemoved(character);
+        }
     }
 
     /**
-     * Draws out all the labels, tiles, character, and items in level.
-     * and starts the level.
+     * Asks the listeners to draw the entity at its tile.
+     * @param entity entity to be drawn.
      */
-    public void start() {
-        createTimeLabel();
-        createScoreLabel();
-
-        Button pauseButton = createPauseButton();
-
-        HBox hBox = new HBox();
-        hBox.setSpacing(HBOX_SPACING);
-        hBox.setStyle("-fx-background-color: BLACK");
-        hBox.getChildren().addAll(pauseButton, timeLabel, scoreLabel);
-
-        AnchorPane anchorPane = new AnchorPane();
-        draw(anchorPane);
-
-        pane = new BorderPane();
-        pane.setTop(hBox);
-        pane.setCenter(anchorPane);
-        pane.setStyle("-fx-background-color: BLACK");
-        pane.setPrefWidth(App.STAGE_WIDTH);
-        pane.setPrefHeight(App.STAGE_HEIGHT);
-
-        Controller.setRoot(pane);
-
-        player.initialize();
-        clock.initialize();
-
-        // Stop the playing music and start the level music.
-        App.MUSIC_PLAYER.stopMusic();
-        App.MUSIC_PLAYER.playSound(
-                SoundEngine.Sound.LEVEL_MUSIC,
-                SoundEngine.getMusicVolume(),
-                true);
+    public void redraw(Entity entity) {
+        // Tell every listener where the entity is.
+        for (LevelListener listener : listeners) {
+            listener.entityMoved(entity);
+        }
     }
 
-    /**
-     * Creates a label for the time of level.
-     */
-    private void createTimeLabel() {
-        timeLabel = new Label("Oxygen: " + time);
-        timeLabel.setTextFill(Color.WHITE);
-        timeLabel.setFont(Font.font(FONT_FAMILY, NORM_FONT_SIZE));
-    }
-
-    /**
-     * Creates a label for the score of level.
-     */
-    private void createScoreLabel() {
-        scoreLabel = new Label("Score: " + score);
-        scoreLabel.setTextFill(Color.WHITE);
-        scoreLabel.setFont(Font.font(FONT_FAMILY, NORM_FONT_SIZE));
-    }
-
-    /**
-     * Creates a pause button that can pause the level
-     * by stopping the game clock and showing the pause
-     * level menu.
-     * @return pause button.
-     */
-    private Button createPauseButton() {
-        Button pauseButton = new Button("||");
-        pauseButton.setFont(Font.font(FONT_FAMILY, NORM_FONT_SIZE));
-        pauseButton.setOnMouseClicked(e -> {
-            clock.setRun(false);
-
-            Data.saveLevel(this);
-            PauseMenuController controller = (PauseMenuController)
-                    new Controller()
-                            .loadFxml(PAUSE_MENU_FXML_PATH);
-            controller.start(this);
-        });
-
-        return pauseButton;
-    }
-
-    /**
-     * Draws all the tiles and entities.
-     * @param pane pane of the level.
-     */
-    private void draw(AnchorPane pane) {
-        /* Loops through each tile of the map and draws it out,
-         sets each tile their neighbour and link tile if possible.
-         Draws the item and character if they exist on a tile. */
-        for (int y = 0; y < tileMap.length; y++) {
-            Tile[] row = tileMap[y];
-            // For every tile in a row.
-            for (int x = 0; x < row.length; x++) {
-                Tile tile = row[x];
-                char[] colours = tile.getColours();
-
-                /* For every direction, tries to set a link and neighbour
-                 if there is any for the tile. */
-                for (Direction direction : Direction.values()) {
-                    Tile link = getLinkTile(tile, direction);
-                    tile.setLink(direction, link);
-
-                    Tile neighbour = getNeighbourTile(tile, direction);
-                    tile.setNeighbour(direction, neighbour);
-                }
-
-                // For every colour in the tile, draws it onto the canvas.
-                for (int i = 0; i < colours.length; i++) {
-                    char c = colours[i];
-                    final Color color = getColorFromChar(c);
-                    final double rectSize = Tile.TILE_SIZE / 2;
-                    Rectangle rectangle = new Rectangle(
-                            (Tile.TILE_SIZE + TILE_SPACING) * x
-                                    * App.SCALE_X
-                            + rectSize * (i % 2),
-                            (Tile.TILE_SIZE + TILE_SPACING) * y
-                                    * App.SCALE_Y
-                            + rectSize * (i < colours.length / 2 ? 0 : 1),
-                            rectSize,
-                            rectSize);
-                    rectangle.setFill(color);
-                    rectangle.setViewOrder(2);
-                    pane.getChildren().add(rectangle);
-                }
-
-                Item item = tile.getItem();
-                /* If there is an item, assign level and tile to item,
-                create an image and draw it. */
-                if (item != null) {
-                    ImageView image = item.getImageView();
-                    image.setViewOrder(1);
-                    pane.getChildren().add(image);
-                }
-
-                Character character = tile.getCharacter();
-                /* If there is a character, assign level and tile to
-                 character, create an image and draw it. */
-                if (character != null) {
-                    /* If character is a player, then assign it to
-                     the player of this level. */
-                    if (character instanceof Player p) {
-                        player = p;
-                    }
-
-                    ImageView image = character.getImageView();
-                    image.setViewOrder(0);
-                    pane.getChildren().add(image);
-                }
-            }
+    /**
+     * Tells the listeners that a bomb has started counting down.
+     * @param bomb triggered bomb.
+     */
+    public void showBombTriggered(Bomb bomb) {
+        // Tell every listener about the bomb.
+        for (LevelListener listener : listeners) {
+            listener.bombTriggered(bomb);
         }
     }
 
     /**
-     * Gets colour from a given character.
-     * @param c character of the colour.
-     * @return the colour.
-     */
-    private Color getColorFromChar(char c) {
-        return switch (c) {
-            case 'R' -> Color.RED;
-            case 'Y' -> Color.YELLOW;
-            case 'B' -> Color.BLUE;
-            case 'G' -> Color.GREEN;
-            case 'C' -> Color.CYAN;
-            case 'M' -> Color.MAGENTA;
-            default -> Color.BLACK;
-        };
-    }
-
-    /**
-     * Gets the linking tile in direction.
-     * @param tile      initial tile.
-     * @param direction direction.
-     * @return tile in the given direction of the given tile.
-     */
-    private Tile getLinkTile(Tile tile, Direction direction) {
-        return recursiveSearchLink(tile, tile, direction);
-    }
-
-    /**
-     * Recursively search through each tile that links with
-     * the current tile and return the tile that has the
-     * same colour(s) with initial tile.
-     * @param current   current tile.
-     * @param goal      initial tile.
-     * @param direction direction
-     * @return the result of the tile.
-     */
-    private Tile recursiveSearchLink(Tile current, Tile goal,
-                                     Direction direction) {
-        int a = switch (direction) {
-            case LEFT -> -1;
-            case RIGHT -> 1;
-            default -> 0;
-        };
-
-        int b = switch (direction) {
-            case UP -> -1;
-            case DOWN -> 1;
-            default -> 0;
-        };
-
-
-        int x = current.getX() + a;
-        int y = current.getY() + b;
-
-        /* Index is out of bounds when:
-         y is below 0 or more than the number of rows in tile map;
-         x is below 0 or more than the number of tiles in a row. */
-        boolean outOfBounds = y < 0 || y > tileMap.length - 1
-                || x < 0
-                || x > tileMap[0].length - 1;
-
-        /* If the index is out of bounds, then return null
-         as there are no tiles that can be linked within
-         this direction.
-         Otherwise, get the next tile and checks if it
-         has a linkable tile or call recursively until
-         one is found. */
-        if (outOfBounds) {
-            return null;
-        } else {
-            current = tileMap[y][x];
-            return current.equalsColour(goal)
-                    ? current
-                    : recursiveSearchLink(current, goal, direction);
+     * Tells the listeners that an item is caught in an explosion.
+     * @param item item that is exploding.
+     */
+    public void showExplosion(Item item) {
+        // Tell every listener about the explosion.
+        for (LevelListener listener : listeners) {
+            listener.itemExploding(item);
         }
     }
 
     /**
-     * Gets the neighbour tile of a tile.
-     * @param tile      initial tile.
-     * @param direction direction to search for.
-     * @return the neighbour tile of the given tile.
+     * Tells the listeners that a player has picked up a note.
+     * @param note note that was picked up.
      */
-    private Tile getNeighbourTile(Tile tile, Direction direction) {
-        int x = tile.getX();
-        int y = tile.getY();
-        return switch (direction) {
-            case UP -> y > 0 ? tileMap[y - 1][x] : null;
-            case RIGHT -> x < tileMap[0].length - 1 ? tileMap[y][x + 1] : null;
-            case DOWN -> y < tileMap.length - 1 ? tileMap[y + 1][x] : null;
-            case LEFT -> x > 0 ? tileMap[y][x - 1] : null;
-        };
+    public void showNote(Note note) {
+        // Tell every listener about the note.
+        for (LevelListener listener : listeners) {
+            listener.noteOpened(note);
+        }
     }
 
     /**
-     * Ends the level by stopping the game clock
-     * and loads the level ended menu.
-     * @param isCleared level is cleared or not.
+     * Asks the listeners to play a sound effect.
+     * @param sound sound effect.
      */
-    public void end(boolean isCleared) {
-        clock.setRun(false);
+    public void playSound(SoundEngine.Sound sound) {
+        playSound(sound, NORMAL_SPEED);
+    }
 
-        String playerName = file.getParentFile().getName();
-
-        /* Tries to replace this level with fresh start to player profile.
-         Copy next level if level is cleared.
-         Catches if there is an I/O exception while loading the file. */
-        try {
-            Data.copyLevel(id, playerName);
-
-            /* Copy the file for next level to player profile if level is
-             cleared. */
-            if (isCleared) {
-                Data.addHighScore(id, playerName, (score + (int) time));
-                Data.copyLevel(id + 1, playerName);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    /**
+     * Asks the listeners to play a sound effect at a speed.
+     * @param sound sound effect.
+     * @param speed playback speed of the sound effect.
+     */
+    public void playSound(SoundEngine.Sound sound, double speed) {
+        // Tell every listener about the sound.
+        for (LevelListener listener : listeners) {
+            listener.soundPlayed(sound, speed);
         }
+    }
 
-        LevelEndedMenuController controller = (LevelEndedMenuController)
-                new Controller()
-                        .loadFxml(LEVEL_ENDED_MENU_FXML_PATH);
-        controller.start(this, isCleared);
-
-        // Stop the playing music.
-        App.MUSIC_PLAYER.stopMusic();
-        // Initialise the sound engine to play a sound effect.
-        if (isCleared) {
-            // Play win sound effect.
-            App.MUSIC_PLAYER.playSound(
-                    SoundEngine.Sound.WIN,
-                    SoundEngine.getMusicVolume(), false);
-        } else {
-            // Play loose sound effect.
-            App.MUSIC_PLAYER.playSound(
-                    SoundEngine.Sound.LOOSE,
-                    SoundEngine.getMusicVolume(), false);
-        }
+    /**
+     * Sets each tile their neighbour and link tile if possible.
+     */
+    public void linkTiles() {
+        grid.buildLinks();
     }
 
     /**
-     * Restarts the level.
+     * Ends the level by stopping the game clock
+     * and tells the listeners. A level can only end once.
+     * @param isCleared level is cleared or not.
      */
-    public void restart() {
-        /* Tries to load the same level.
-         Catches if there is an I/O exception while loading the file. */
-        try {
-            String playerName = file.getParentFile().getName();
-            Data.copyLevel(id, playerName);
-            Level newLevel = Data.readLevel(file);
-            newLevel.start();
-        } catch (IOException ex) {
-            throw new RuntimeException(ex);
-        }
-        // Stop the playing music and start the level music.
-        App.MUSIC_PLAYER.stopMusic();
-        App.MUSIC_PLAYER.playSound(
-                SoundEngine.Sound.LEVEL_MUSIC,
-                SoundEngine.getMusicVolume(),
-                true);
-    }
-
-    /**
-     * Starts the next level.
-     */
-    public void next() {
-
-        /* Tries to load the next level from player profile.
-         Catches if there is an I/O exception while loading the file. */
-        try {
-            String playerName = file.getParentFile().getName();
-            Data.copyLevel(id, playerName);
-            File nextFile = new File(String.format("%s/%d.txt",
-                    file.getParentFile().getPath(),
-                    id + 1));
-            /* Goes back to end credits if there's no next level.
-             Otherwise, start the next level. */
-            if (!nextFile.exists()) {
-                Controller controller = new Controller();
-                controller.loadFxml(END_CREDITS_FXML_PATH);
-                return;
-            } else {
-                Level newLevel = Data.readLevel(nextFile);
-                newLevel.start();
-            }
-        } catch (IOException ex) {
-            throw new RuntimeException(ex);
+    public void end(boolean isCleared) {
+        // Ignore if the level has already ended.
+        if (isEnded) {
+            return;
         }
 
-        // Stop the playing music and start the level music.
-        App.MUSIC_PLAYER.stopMusic();
-        App.MUSIC_PLAYER.playSound(
-                SoundEngine.Sound.LEVEL_MUSIC,
-                SoundEngine.getMusicVolume(),
-                true);
+        isEnded = true;
+        clock.setRun(false);
+
+        // Tell every listener that the level has ended.
+        for (LevelListener listener : listeners) {
+            listener.levelEnded(isCleared);
+        }
     }
 
     /**
@@ -623,11 +531,11 @@ public class Level {
     }
 
     /**
-     * Gets all messages in string.
+     * Gets all messages in string, one message on each line.
      * @return all messages in string.
      */
     private String getMessageString() {
-        return String.join("",
+        return String.join("\n",
                 items.stream()
                 .map(item -> {
                     if (item instanceof Note note) {
@@ -1,7 +1,9 @@
 package com.example.spacechase.models.characters;
 
+import com.example.spacechase.models.items.Bomb;
 import com.example.spacechase.models.level.Entity;
 import com.example.spacechase.models.level.Tile;
+import com.example.spacechase.utils.Direction;
 
 /**
  * This abstract class represents a character. A character contains
@@ -9,26 +11,78 @@ import com.example.spacechase.models.level.Tile;
  * @author Tristan Tsang
  * @author Alex Hallsworth
  * @author Ben Thornber
- * @version 1.0.2
+ * @version 1.0.7
  */
 public abstract class Character extends Entity {
+    /**
+     * All directions, kept so the tiles next to a tile can be checked
+     * without copying the directions every time.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+    /**
+     * Determines whether the character has been removed from the level.
+     */
+    private boolean isRemoved;
+
     /**
      * Changes the current tile to the new tile.
      * @param link the tile to move on to.
      */
     protected void changeTile(Tile link) {
+        boolean hasMoved = link != tile;
         tile.setCharacter(null);
         link.setCharacter(this);
         tile = link;
+
+        // Only bombs next to a new tile can be triggered by the move.
+        if (hasMoved && canTriggerBombs()) {
+            enterTile(link);
+        }
+    }
+
+    /**
+     * Tells every bomb that watches a tile that the tile has been
+     * entered. A bomb watches the tiles next to it.
+     * @param link tile that has been entered.
+     */
+    private void enterTile(Tile link) {
+        // Check the tile next to the entered tile in every direction.
+        for (Direction direction : DIRECTIONS) {
+            Tile neighbour = link.getNeighbourTile(direction);
+
+            // Tell the bomb if there is one on the tile.
+            if (neighbour != null
+                    && neighbour.getItem() instanceof Bomb bomb) {
+                bomb.tileEntered(this);
+            }
+        }
+    }
+
+    /**
+     * Gets whether the character triggers a bomb by moving next to it.
+     * @return character can trigger bombs or not.
+     */
+    public boolean canTriggerBombs() {
+        return true;
+    }
+
+    /**
+     * Gets whether the character has been removed from the level. A
+     * character that is removed during a step is not updated for the
+     * rest of the step.
+     * @return character has been removed or not.
+     */
+    public boolean isRemoved() {
+        return isRemoved;
     }
 
     /**
      * Removes the character from the level.
      */
     protected void remove() {
+        isRemoved = true;
         level.removeCharacter(this);
         tile.setCharacter(null);
-        imageView.setOpacity(0);
     }
 
     /**
@@ -37,10 +91,16 @@ public abstract class Character extends Entity {
     abstract void move();
 
     /**
-     * Moves the character and draws it.
+     * Moves the character and draws it if it is on another tile, so a
+     * character that stays put is not drawn again.
      */
     public void update() {
+        Tile lastTile = tile;
         move();
-        draw();
+
+        // Only draw the character if it has moved.
+        if (tile != lastTile) {
+            draw();
+        }
     }
 }
@@ -12,7 +12,7 @@ import com.example.spacechase.services.SoundEngine;
  *
  * @author Rami Abdulrazzaq
  * @author Tristan Tsang
- * @version 1.0.1
+ * @version 1.0.2
  */
 public abstract class Collector extends Character {
 
@@ -35,13 +35,8 @@ public abstract class Collector extends Character {
      * Plays the sound effect of reward.
      */
     private void playRewardSound() {
-        // Initialise a new sound engine, so we can play a sound effect.
-        SoundEngine soundEngine = new SoundEngine();
         // Play the reward sound effect.
-        soundEngine.playSound(
-                SoundEngine.Sound.REWARD,
-                SoundEngine.getSoundEffectVolume(),
-                false);
+        level.playSound(SoundEngine.Sound.REWARD);
     }
 
     /**
@@ -3,9 +3,8 @@ package com.example.spacechase.models.characters;
 import com.example.spacechase.models.items.Bomb;
 import com.example.spacechase.models.items.Gate;
 import com.example.spacechase.models.level.Tile;
+import com.example.spacechase.models.level.TileColour;
 import com.example.spacechase.utils.Direction;
-import java.util.ArrayList;
-import java.util.Arrays;
 
 /**
  * This class represents a floor following thief. A floor following contains
@@ -14,13 +13,13 @@ import java.util.Arrays;
  * @author Tristan Tsang
  * @author Ben Thornber
  * @author Alex Hallsworth
- * @version 1.0.1
+ * @version 1.0.4
  */
 public class FloorFollowing extends Collector {
     /**
-     * The colour that the thief will follow.
+     * Colour mask of the colour that the thief will follow.
      */
-    private char followColour;
+    private int followColour;
     /**
      * Last two tiles that the thief has been to.
      */
@@ -28,7 +27,12 @@ public class FloorFollowing extends Collector {
     /**
      * Directions order for the thief to follow.
      */
-    private Direction[] directions;
+    private final Direction[] directions;
+    /**
+     * Directions order at the start of a move, the order of directions
+     * can be rotated while they are being checked.
+     */
+    private final Direction[] order;
 
     /**
      * Creates a floor following thief.
@@ -37,6 +41,7 @@ public class FloorFollowing extends Collector {
         this.id = 'F';
         this.imagePath = "FloorFollower.gif";
         this.directions = Direction.values();
+        this.order = new Direction[directions.length];
         this.lastTile = new Tile[2];
     }
 
@@ -48,8 +53,7 @@ public class FloorFollowing extends Collector {
     @Override
     public void setTile(Tile tile) {
         this.tile = tile;
-        char[] colours = tile.getColours();
-        followColour = colours[0];
+        followColour = TileColour.maskOf(tile.getColour(0));
     }
 
 
@@ -60,11 +64,12 @@ public class FloorFollowing extends Collector {
      * @return the tile to moved onto.
      */
     private Tile getLinkTile() {
+        System.arraycopy(directions, 0, order, 0, directions.length);
         /*
          * Checks all direction to see if there is a tile
          * in that direction that can be moved on to.
          */
-        for (Direction direction : directions) {
+        for (Direction direction : order) {
             Tile link = tile.getLinkedTile(direction);
 
             /*
@@ -79,18 +84,15 @@ public class FloorFollowing extends Collector {
                  * If the tile matches any tiles in last tile,
                  * rotate the order of directions.
                  */
-                if (Arrays.stream(lastTile).anyMatch(t -> t == link)) {
-                    directions = rotateArrayOrder(directions)
-                            .toArray(Direction[]::new);
+                if (lastTile[0] == link || lastTile[1] == link) {
+                    rotateArrayOrder(directions);
                 }
 
-                char[] colours = link.getColours();
-
                 /*
                  * Return the tile if the following colour
                  * is an element of all the colours in the tile.
                  */
-                if (isElement(followColour, colours)) {
+                if ((link.getColourMask() & followColour) != 0) {
                     return link;
                 }
             }
@@ -101,38 +103,15 @@ public class FloorFollowing extends Collector {
     }
 
     /**
-     * Checks if the given element is an element of the given array.
-     * @param elem element.
-     * @param arr array.
-     * @return whether element is an element of array.
-     */
-    private boolean isElement(char elem, char[] arr) {
-        /*
-         * For every character in the array, return true if it equals
-         * to the element. Otherwise, return false.
-         */
-        for (char t : arr) {
-            // Return true if character equals to element.
-            if (t == elem) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    /**
-     * Rotates the order of an array.
+     * Rotates the order of an array in place, the first element
+     * is moved to the end.
      * @param arr array
      * @param <T> type of array
-     * @return shifted order of array in array list.
      */
-    private <T> ArrayList<T> rotateArrayOrder(T[] arr) {
-        ArrayList<T> newArr = new ArrayList<>(
-                Arrays.asList(arr).subList(1, arr.length));
-        newArr.add(arr[0]);
-
-        return newArr;
+    private <T> void rotateArrayOrder(T[] arr) {
+        T first = arr[0];
+        System.arraycopy(arr, 1, arr, 0, arr.length - 1);
+        arr[arr.length - 1] = first;
     }
 
     /**
@@ -142,7 +121,8 @@ public class FloorFollowing extends Collector {
     void move() {
         Tile link = getLinkTile();
 
-        lastTile = new Tile[]{lastTile[1], link};
+        lastTile[0] = lastTile[1];
+        lastTile[1] = link;
         changeTile(link);
     }
 }
@@ -9,7 +9,7 @@ import com.example.spacechase.utils.Direction;
  * @author Tristan Tsang
  * @author Daniel Halsall
  * @author Ben Thornber
- * @version 1.0.3
+ * @version 1.0.4
  */
 public class FlyingAssassin extends Character {
     /**
@@ -28,6 +28,15 @@ public class FlyingAssassin extends Character {
         this.direction = getDirection(id);
     }
 
+    /**
+     * Flying assassins fly over bombs without triggering them.
+     * @return false as flying assassins cannot trigger bombs.
+     */
+    @Override
+    public boolean canTriggerBombs() {
+        return false;
+    }
+
     /**
      * Gets the initial direction of the flying assassin.
      * @param id the id used in the text file for the flying assassin.
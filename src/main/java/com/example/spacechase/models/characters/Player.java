@@ -2,12 +2,8 @@ package com.example.spacechase.models.characters;
 
 import com.example.spacechase.models.items.Gate;
 import com.example.spacechase.models.level.Tile;
-import com.example.spacechase.utils.Control;
 import com.example.spacechase.utils.Direction;
 import com.example.spacechase.services.SoundEngine;
-import javafx.scene.Scene;
-import javafx.scene.input.KeyCode;
-import java.util.HashMap;
 
 /**
  * This class represents a player.
@@ -17,19 +13,9 @@ import java.util.HashMap;
  * @author Karl Clifford
  * @author Alex Hallsworth
  * @author Ben Thornber
- * @version 1.0.1
+ * @version 1.0.2
  */
 public class Player extends Collector {
-    /**
-     * Keybinds for all controls.
-     */
-    private static final HashMap<KeyCode, Control> KEYBINDS = new HashMap<>();
-    static {
-        KEYBINDS.put(KeyCode.W, Control.UP);
-        KEYBINDS.put(KeyCode.A, Control.LEFT);
-        KEYBINDS.put(KeyCode.D, Control.RIGHT);
-        KEYBINDS.put(KeyCode.S, Control.DOWN);
-    }
     /**
      * Direction of the player.
      */
@@ -52,46 +38,19 @@ public class Player extends Collector {
     }
 
     /**
-     * Initializes input for the level. Changes direction depending
-     * on the input.
-     */
-    public void initialize() {
-        Scene scene = level.getPane().getScene();
-        scene.setOnKeyPressed(keyEvent -> {
-            Control control =
-                    KEYBINDS.getOrDefault(keyEvent.getCode(), Control.NULL);
-
-            // Changes direction if there's an input from control.
-            direction = switch (control) {
-                case UP -> Direction.UP;
-                case LEFT -> Direction.LEFT;
-                case DOWN -> Direction.DOWN;
-                case RIGHT -> Direction.RIGHT;
-                default -> null;
-            };
-        });
-    }
-
-    /**
-     * Changes the keybind of control.
-     * @param control control of the player.
-     * @param keyCode key code of the control.
+     * Sets the direction the player moves towards on its next update.
+     * @param direction direction from input, null to stay.
      */
-    public static void setKeybind(Control control, KeyCode keyCode) {
-        KEYBINDS.put(keyCode, control);
+    public void setDirection(Direction direction) {
+        this.direction = direction;
     }
 
     /**
      * Plays the sound effect of player movement.
      */
     private void playMoveSound() {
-        // Initialise a new sound engine, so we can play a sound effect.
-        SoundEngine soundEngine = new SoundEngine();
         // Play the move sound effect.
-        soundEngine.playSound(
-                SoundEngine.Sound.MOVE,
-                SoundEngine.getSoundEffectVolume(),
-                false);
+        level.playSound(SoundEngine.Sound.MOVE);
     }
 
 
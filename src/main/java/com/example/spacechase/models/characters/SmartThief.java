@@ -5,8 +5,7 @@ import com.example.spacechase.models.items.Gate;
 import com.example.spacechase.models.items.Item;
 import com.example.spacechase.models.items.Note;
 import com.example.spacechase.models.level.Tile;
-import com.example.spacechase.utils.BFS;
-import com.example.spacechase.utils.Path;
+import java.util.function.Predicate;
 
 /**
  * This class represents a smart thief.
@@ -15,7 +14,7 @@ import com.example.spacechase.utils.Path;
  * @author Tristan Tsang
  * @author Alex Hallsworth
  * @author Ben Thornber
- * @version 1.0.1
+ * @version 1.0.5
  */
 public class SmartThief extends Collector {
     /**
@@ -27,72 +26,37 @@ public class SmartThief extends Collector {
     }
 
     /**
-     * Find the shortest path to the closest interactive item.
-     * @return path to item.
+     * Target set of all smart thieves.
      */
-    private Path getShortestPathToItem() {
-        int distance = Integer.MAX_VALUE;
-        Path finalPath = null;
+    private static final Predicate<Tile> TARGETS = SmartThief::isTarget;
 
-        /*
-         * Calculate a path for each item in the map
-         * and use the path that has the shortest
-         * distance.
-         */
-        for (Item item : level.getItems()) {
-            Tile itemTile = item.getTile();
-
-            BFS graph = new BFS(tile);
-            Path path = graph.search(itemTile);
-
-            /*
-             * Checks if the path is null
-             * meaning the path is unblocked
-             * ignores gates. Ignore all notes and bomb
-             * as they should only be interacted by player.
-             */
-            if (path != null
-                    && !(item instanceof Gate
-                    || item instanceof Note
-                    || item instanceof Bomb)) {
-                int tileDistance = path.size();
-                /*
-                 * If this path is a shorter path than
-                 * the last path, then use this path.
-                 */
-                if (tileDistance < distance) {
-                    distance = tileDistance;
-                    finalPath = path;
-                }
-
-            }
-        }
-        return finalPath;
+    /**
+     * Checks if the tile has an item that the thief can collect.
+     * Gates are ignored, as well as notes and bombs as they should
+     * only be interacted by player.
+     * @param tile tile to be checked.
+     * @return whether the thief is heading for the tile.
+     */
+    private static boolean isTarget(Tile tile) {
+        Item item = tile.getItem();
+        return item != null
+                && !(item instanceof Gate
+                || item instanceof Note
+                || item instanceof Bomb);
     }
 
     /**
-     * Moves the character by following the path if a path exists.
+     * Moves the character one step closer to the closest interactive
+     * item, using the distance field shared by all smart thieves. The
+     * thief goes around characters that are in the way.
      */
     @Override
     void move() {
-        Path path = getShortestPathToItem();
-
-        /*
-         * If a path is found, dequeue the first
-         * tile (as first would be current tile),
-         * and move onto the second tile if it exists.
-         */
-        if (path != null) {
-            path.dequeue();
+        Tile newTile = level.getDistanceFields().nextStep(TARGETS, tile);
 
-            /*
-             * If the path is not empty, dequeue the
-             * tile and move onto that tile.
-             */
-            if (!path.isEmpty()) {
-                Tile newTile = path.dequeue();
-                changeTile(newTile);
-            }
+        // Move onto the next tile if there is an item to go to.
+        if (newTile != null) {
+            changeTile(newTile);
         }
     }
 }
@@ -1,27 +1,27 @@
 package com.example.spacechase.models.items;
 
-import com.example.spacechase.models.characters.FlyingAssassin;
+import com.example.spacechase.models.characters.Character;
 import com.example.spacechase.models.level.Tile;
 import com.example.spacechase.services.SoundEngine;
-import com.example.spacechase.utils.Data;
 import com.example.spacechase.utils.Direction;
-import javafx.animation.AnimationTimer;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import java.time.Clock;
 
 /**
  * This class represents a bomb. It can be triggered
  * by any collector and explode after counting down
  * 3 seconds.
  * @author Rami Abdulrazzaq
- * @version 1.0.0
+ * @version 1.0.3
  */
 public class Bomb extends Item {
     /**
      * Duration of explosion animation in milliseconds.
      */
     private static final int EXPLOSION_TIME = 500;
+    /**
+     * All directions, kept so the trigger tiles can be checked
+     * without copying the directions every time.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
     /**
      * Boolean variable to check if the bomb is triggered.
      */
@@ -71,13 +71,12 @@ public class Bomb extends Item {
     }
 
     /**
-     * Destroys an item in given position.
+     * Destroys an item in given position once the explosion
+     * animation has finished.
      * @param x x position of an item.
      * @param y y position of an item.
      */
     private void destroyItem(int x, int y) {
-        Image explosion = createImage("images/blackHoleexplosion.gif");
-
         Tile[][] tiles = level.getTileMap();
         Tile tile = tiles[y][x];
         Item item = tile.getItem();
@@ -87,29 +86,16 @@ public class Bomb extends Item {
                 && !(item instanceof Bomb)
                 && !(item instanceof Door)
                 && !(item instanceof Gate)) {
-            ImageView itemImage = item.getImageView();
-            itemImage.setImage(explosion);
-
-            AnimationTimer timer = new AnimationTimer() {
-                final Clock clock = Clock.systemDefaultZone();
-                final long last = clock.millis();
-                @Override
-                public void handle(long l) {
-                    long now = clock.millis();
-
-                    /*
-                     * Check that we have past the time threshold to destroy
-                     * the item.
-                     */
-                    if (now - last >= EXPLOSION_TIME) {
-                        item.remove();
-                        playDestroySound();
-                        this.stop();
-                    }
-                }
-            };
-
-            timer.start();
+            level.showExplosion(item);
+
+            /*
+             * Destroy the item once we have past the time threshold
+             * of the explosion.
+             */
+            level.getClock().schedule(EXPLOSION_TIME, () -> {
+                item.remove();
+                playDestroySound();
+            });
             /*
              * Item is a bomb so should be immediately destroyed
              * with no countdown.
@@ -117,29 +103,17 @@ public class Bomb extends Item {
         } else if (item instanceof Bomb bomb
                 && bomb != this
                 && !(bomb.isDetonated)) {
-            imageView.setImage(explosion);
-
-            AnimationTimer timer = new AnimationTimer() {
-                final Clock clock = Clock.systemDefaultZone();
-                final long last = clock.millis();
-                @Override
-                public void handle(long l) {
-                    long now = clock.millis();
-
-                    /*
-                     * Check that we have past the time threshold to destroy
-                     * the bomb.
-                     */
-                    if (now - last >= EXPLOSION_TIME) {
-                        bomb.setIsDetonated();
-                        bomb.destroyItems();
-                        playDestroySound();
-                        this.stop();
-                    }
-                }
-            };
-
-            timer.start();
+            level.showExplosion(this);
+
+            /*
+             * Detonate the bomb once we have past the time threshold
+             * of the explosion.
+             */
+            level.getClock().schedule(EXPLOSION_TIME, () -> {
+                bomb.setIsDetonated();
+                bomb.destroyItems();
+                playDestroySound();
+            });
         }
     }
 
@@ -147,23 +121,9 @@ public class Bomb extends Item {
      * Plays the sound effect of explosion.
      */
     private void playDestroySound() {
-        SoundEngine soundEngine = new SoundEngine();
-        soundEngine.playSound(
-                SoundEngine.Sound.DESTROY,
-                SoundEngine.getSoundEffectVolume(),
-                false);
+        level.playSound(SoundEngine.Sound.DESTROY);
     }
 
-    /**
-     * Creates an image from the path.
-     * @param path path of image.
-     * @return image.
-     */
-    private Image createImage(String path) {
-        return new Image(Data.getUrl(path).toExternalForm());
-    }
-
-
     /**
      * Checks if a character is on any of
      * the tiles a block away from the bomb.
@@ -177,12 +137,12 @@ public class Bomb extends Item {
         is on the trigger tile if(true) then
         trigger the bomb.
          */
-        for (Direction direction : Direction.values()) {
+        for (Direction direction : DIRECTIONS) {
             Tile neighbourTile = tile.getNeighbourTile(direction);
             if (neighbourTile != null
                     && neighbourTile
                     .getCharacter() != null
-                    && !(neighbourTile.getCharacter() instanceof FlyingAssassin)
+                    && neighbourTile.getCharacter().canTriggerBombs()
             ) {
                 trigger = true;
             }
@@ -205,10 +165,22 @@ public class Bomb extends Item {
      * @param currentTime time the bomb is triggered.
      */
     public void trigger(long currentTime) {
-        Image countdownImage = createImage("images/blackHolecounting.gif");
-        imageView.setImage(countdownImage);
+        level.showBombTriggered(this);
         initTime = currentTime;
         this.isTriggered = true;
+        level.getClock().lightFuse(this);
+    }
+
+    /**
+     * Triggers the bomb when a character enters one of the tiles
+     * a block away from the bomb.
+     * @param character character that entered the tile.
+     */
+    public void tileEntered(Character character) {
+        // Only trigger the bomb once.
+        if (!isTriggered && character.canTriggerBombs()) {
+            trigger(level.getClock().getNow());
+        }
     }
 
     /**
@@ -10,13 +10,17 @@ import com.example.spacechase.services.SoundEngine;
  * @author Tristan Tsang
  * @author Karl Clifford
  * @author Ben Thornber
- * @version 1.0.1
+ * @version 1.0.2
  */
 public class Clock extends Item {
     /**
      * Amount of time that the game clock will change after clock is interacted.
      */
     private static final double VALUE = 30.0;
+    /**
+     * Playback speed of the clock sound effect.
+     */
+    private static final double SOUND_SPEED = 2;
 
     /**
      * Creates a clock item.
@@ -42,14 +46,8 @@ public class Clock extends Item {
         if (collector instanceof Player) {
             level.setTime(time + VALUE);
 
-            // Initialise a new sound engine to play a sound effect.
-            SoundEngine soundEngine = new SoundEngine();
             // Play the clock sound effect.
-            soundEngine.playSound(
-                    SoundEngine.Sound.CLOCK,
-                    SoundEngine.getSoundEffectVolume(),
-                    false);
-            soundEngine.setPlaybackSpeed(2);
+            level.playSound(SoundEngine.Sound.CLOCK, SOUND_SPEED);
         } else {
             level.setTime(time - VALUE);
         }
@@ -9,7 +9,7 @@ import com.example.spacechase.models.characters.Player;
  * with it.
  * @author Tristan Tsang
  * @author Ben Thornber
- * @version 1.0.1
+ * @version 1.0.2
  */
 public class Door extends Item {
     /**
@@ -27,11 +27,8 @@ public class Door extends Item {
     @Override
     public void interact(Collector collector) {
         // Check if there are items that is valuable or lever.
-        boolean haveItemsInMap = level.getItems()
-                .stream()
-                .anyMatch(item ->
-                        (item instanceof Valuable
-                        || item instanceof Lever));
+        boolean haveItemsInMap = level.countItems(Valuable.class) > 0
+                || level.countItems(Lever.class) > 0;
 
         // End the level if there is no other items in the map.
         if (!haveItemsInMap) {
@@ -1,6 +1,6 @@
 package com.example.spacechase.models.items;
 
-import javafx.scene.paint.Color;
+import com.example.spacechase.models.level.TileColour;
 
 import java.util.HashMap;
 
@@ -9,22 +9,22 @@ import java.util.HashMap;
  * A gate prevents the collectors from going on the tile it is on.
  * Can be opened with the corresponding colour lever.
  * @author Alex Hallsworth
- * @version 1.0.0
+ * @version 1.0.1
  */
 public class Gate extends Item {
     /**
      * Stores the colours that can be used to set the gate.
      */
-    private static final HashMap<java.lang.Character, Color>
+    private static final HashMap<java.lang.Character, TileColour>
             COLOUR_TYPES = new HashMap<>();
     static {
-        COLOUR_TYPES.put('(', Color.RED);
-        COLOUR_TYPES.put(')', Color.GREEN);
+        COLOUR_TYPES.put('(', TileColour.RED);
+        COLOUR_TYPES.put(')', TileColour.GREEN);
     }
     /**
      * Colour of the Gate.
      */
-    private final Color colour;
+    private final TileColour colour;
     /**
      * Creates a gate item.
      * @param type colour of the gate.
@@ -48,7 +48,7 @@ public class Gate extends Item {
      * Gets the colour of the gate.
      * @return the colour of the gate.
      */
-    public Color getColour() {
+    public TileColour getColour() {
         return this.colour;
     }
 }
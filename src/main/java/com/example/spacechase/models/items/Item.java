@@ -9,7 +9,7 @@ import com.example.spacechase.models.level.Entity;
  * @author Tristan Tsang
  * @author Alex Hallsworth
  * @author Ben Thornber
- * @version 1.0.2
+ * @version 1.0.3
  */
 public abstract class Item extends Entity {
     /**
@@ -17,8 +17,8 @@ public abstract class Item extends Entity {
      */
     public void remove() {
         level.removeItem(this);
+        level.updateGraphVersion();
         tile.setItem(null);
-        imageView.setOpacity(0);
     }
     /**
      * Removes the item from level as it is collected.
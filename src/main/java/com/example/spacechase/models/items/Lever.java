@@ -2,7 +2,7 @@ package com.example.spacechase.models.items;
 
 import com.example.spacechase.models.characters.Collector;
 
-import javafx.scene.paint.Color;
+import com.example.spacechase.models.level.TileColour;
 
 import java.util.HashMap;
 
@@ -10,22 +10,22 @@ import java.util.HashMap;
  * This class represents a lever.
  * A lever opens all gates of the same colour and can be picked up.
  * @author Alex Hallsworth
- * @version 1.0.0
+ * @version 1.0.3
  */
 public class Lever extends Item {
     /**
      * Stores the colours that can be used to set the lever.
      */
-    private static final HashMap<java.lang.Character, Color>
+    private static final HashMap<java.lang.Character, TileColour>
             COLOUR_TYPES = new HashMap<>();
     static {
-        COLOUR_TYPES.put('{', Color.RED);
-        COLOUR_TYPES.put('}', Color.GREEN);
+        COLOUR_TYPES.put('{', TileColour.RED);
+        COLOUR_TYPES.put('}', TileColour.GREEN);
     }
     /**
      * Colour of the lever.
      */
-    private final Color colour;
+    private final TileColour colour;
 
 
     /**
@@ -50,7 +50,7 @@ public class Lever extends Item {
      * Gets the colour of the gate.
      * @return colour of the gate.
      */
-    public Color getColour() {
+    public TileColour getColour() {
         return this.colour;
     }
 
@@ -59,24 +59,16 @@ public class Lever extends Item {
      * @param opener opener of the gate.
      */
     public void removeGates(Collector opener) {
-        Gate[] gates = level.getItems()
-                .stream()
-                .filter(item -> item instanceof Gate)
-                .toArray(Gate[]::new)
-                .clone();
+        Gate[] gates = level.getGates(colour).toArray(Gate[]::new);
         /*
-         * Gets all the gates of the same colour
-         * and adds it to a list with others.
+         * Opens every gate of the same colour, the gates are copied
+         * as each gate is removed from the level when opened.
          */
         for (Gate gate : gates) {
-            /*
-             * If gate's colour is the same as this lever
-             * add it to the list of gates of that colour.
-             */
-            if (gate.getColour() == colour) {
-                gate.interact(opener);
-            }
+            gate.interact(opener);
         }
+
+        level.updateGraphVersion();
     }
 
     /**
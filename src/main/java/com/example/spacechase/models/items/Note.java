@@ -1,7 +1,5 @@
 package com.example.spacechase.models.items;
 
-import com.example.spacechase.controllers.Controller;
-import com.example.spacechase.controllers.CutsceneController;
 import com.example.spacechase.models.characters.Collector;
 import com.example.spacechase.models.characters.Player;
 
@@ -10,7 +8,7 @@ import com.example.spacechase.models.characters.Player;
  * reveal a message.
  * @author Tristan Tsang
  * @author Karl Clifford
- * @version 1.0.0
+ * @version 1.0.1
  */
 public class Note extends Item {
     /**
@@ -50,13 +48,7 @@ public class Note extends Item {
         // Goes to cutscene if is a player.
         if (collector instanceof Player) {
             this.remove();
-
-            CutsceneController controller = (CutsceneController)
-                    new Controller()
-                    .loadFxml("fxml/noteScreen.fxml");
-            controller.setMessage(message);
-            controller.setLevel(level);
-            controller.start();
+            level.showNote(this);
         }
     }
 }
@@ -0,0 +1,184 @@
+package com.example.spacechase.models.level;
+
+/**
+ * This class represents the camera of a level. A camera shows a part
+ * of the tiles that is centred on the tile it follows and never goes
+ * past the edges of the level. The tiles in view are the part that is
+ * shown and a margin around it, so entities are drawn before they
+ * scroll onto the screen. The view only moves once the part that is
+ * shown has left it, so it does not have to be drawn again every time
+ * the camera moves. A level that fits the screen never scrolls.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+public class Camera {
+    /**
+     * Number of tiles in a row of the level.
+     */
+    private final int levelWidth;
+    /**
+     * Number of rows of the level.
+     */
+    private final int levelHeight;
+    /**
+     * Number of tiles kept in view beyond each edge of the camera.
+     */
+    private final int margin;
+    /**
+     * Number of tiles shown in a row.
+     */
+    private int width;
+    /**
+     * Number of rows shown.
+     */
+    private int height;
+    /**
+     * X of the first tile shown.
+     */
+    private int x;
+    /**
+     * Y of the first tile shown.
+     */
+    private int y;
+    /**
+     * X of the first tile in view, before it is kept within the level.
+     */
+    private int viewX;
+    /**
+     * Y of the first tile in view, before it is kept within the level.
+     */
+    private int viewY;
+    /**
+     * Determines whether the view has been placed since the size of
+     * the camera was set.
+     */
+    private boolean isViewPlaced;
+
+    /**
+     * Creates a camera at the top left of a level.
+     * @param levelWidth number of tiles in a row of the level.
+     * @param levelHeight number of rows of the level.
+     * @param margin number of tiles kept in view beyond each edge.
+     */
+    public Camera(int levelWidth, int levelHeight, int margin) {
+        this.levelWidth = levelWidth;
+        this.levelHeight = levelHeight;
+        this.margin = margin;
+        this.width = levelWidth;
+        this.height = levelHeight;
+    }
+
+    /**
+     * Sets the number of tiles the camera shows.
+     * @param width number of tiles shown in a row.
+     * @param height number of rows shown.
+     */
+    public void setSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.isViewPlaced = false;
+    }
+
+    /**
+     * Centres the camera on a tile without going past the edges of the
+     * level.
+     * @param tile tile to follow.
+     * @return true if the camera has moved.
+     */
+    public boolean follow(Tile tile) {
+        int newX = clamp(tile.getX() - width / 2, levelWidth - width);
+        int newY = clamp(tile.getY() - height / 2, levelHeight - height);
+        boolean isMoved = newX != x || newY != y;
+        x = newX;
+        y = newY;
+
+        return isMoved;
+    }
+
+    /**
+     * Moves the view around the part that is shown if it has left the
+     * view.
+     * @return true if the view has moved.
+     */
+    public boolean updateView() {
+        // Keep the view while the part that is shown is within it.
+        if (isViewPlaced
+                && x >= viewX && x <= viewX + 2 * margin
+                && y >= viewY && y <= viewY + 2 * margin) {
+            return false;
+        }
+
+        viewX = x - margin;
+        viewY = y - margin;
+        isViewPlaced = true;
+        return true;
+    }
+
+    /**
+     * Checks whether a tile is in view.
+     * @param tile tile to be checked.
+     * @return true if the tile is shown or within the margin.
+     */
+    public boolean contains(Tile tile) {
+        return tile.getX() >= getMinX() && tile.getX() < getMaxX()
+                && tile.getY() >= getMinY() && tile.getY() < getMaxY();
+    }
+
+    /**
+     * Gets x of the first tile shown.
+     * @return x of the camera.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Gets y of the first tile shown.
+     * @return y of the camera.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Gets x of the first tile in view.
+     * @return first x in view.
+     */
+    public int getMinX() {
+        return Math.max(0, viewX);
+    }
+
+    /**
+     * Gets x after the last tile in view.
+     * @return x after the last tile in view.
+     */
+    public int getMaxX() {
+        return Math.min(levelWidth, viewX + width + 2 * margin);
+    }
+
+    /**
+     * Gets y of the first tile in view.
+     * @return first y in view.
+     */
+    public int getMinY() {
+        return Math.max(0, viewY);
+    }
+
+    /**
+     * Gets y after the last tile in view.
+     * @return y after the last tile in view.
+     */
+    public int getMaxY() {
+        return Math.min(levelHeight, viewY + height + 2 * margin);
+    }
+
+    /**
+     * Keeps a position of the camera within the level.
+     * @param position position of the first tile shown.
+     * @param max largest position, below 0 if the level fits.
+     * @return position within the level.
+     */
+    private static int clamp(int position, int max) {
+        return Math.max(0, Math.min(position, max));
+    }
+}
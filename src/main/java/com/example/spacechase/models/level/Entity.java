@@ -1,22 +1,16 @@
 package com.example.spacechase.models.level;
 
-import com.example.spacechase.App;
 import com.example.spacechase.models.Level;
-import com.example.spacechase.utils.Data;
-import javafx.scene.image.ImageView;
 
 /**
  * This class represents an entity, where it is an object
- * that can be either a character or an item.
+ * that can be either a character or an item. An entity only holds
+ * the path of its image, the image itself is created by the renderer
+ * of the level.
  * @author Tristan Tsang
- * @version 1.0.0
+ * @version 1.0.1
  */
 public abstract class Entity {
-    /**
-     * Url path to images directory that contains images.
-     */
-    protected static final String PATH_TO_IMAGES = "images/";
-
     /**
      * ID of the entity that defines the type.
      */
@@ -26,48 +20,27 @@ public abstract class Entity {
      */
     protected Tile tile;
     /**
-     * Url path of image of the entity.
+     * Url path of image of the entity, relative to the images directory.
      */
     protected String imagePath;
-    /**
-     * Image view of the entity.
-     * @see javafx.scene.image.ImageView
-     */
-    protected ImageView imageView;
     /**
      * Level of the entity that is in.
      */
     protected Level level;
 
     /**
-     * Creates an image view for the entity.
-     */
-    public void createImageView() {
-        imageView = new ImageView(
-                Data.getUrl(PATH_TO_IMAGES + imagePath)
-                        .toExternalForm());
-        imageView.setFitHeight(Tile.TILE_SIZE * App.SCALE_Y);
-        imageView.setPreserveRatio(true);
-        draw();
-    }
-
-    /**
-     * Draws the image of the entity to the center of the tile.
+     * Asks the level to draw the image of the entity at its tile.
      */
     public void draw() {
-        imageView.relocate(
-                (Tile.TILE_SIZE + Level.TILE_SPACING)
-                        * tile.getX() * App.SCALE_X,
-                   (Tile.TILE_SIZE + Level.TILE_SPACING)
-                           * tile.getY() * App.SCALE_Y);
+        level.redraw(this);
     }
 
     /**
-     * Gets the image view.
-     * @return image view of the entity.
+     * Gets the url path of the image of the entity.
+     * @return path of the image, relative to the images directory.
      */
-    public ImageView getImageView() {
-        return imageView;
+    public String getImagePath() {
+        return imagePath;
     }
 
     /**
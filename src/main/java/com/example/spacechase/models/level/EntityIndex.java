@@ -0,0 +1,96 @@
+package com.example.spacechase.models.level;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class represents an index of entities by their type. An entity
+ * is kept under its own class and every superclass of it up to the
+ * base type, so the entities of a type and all its subtypes can be
+ * found without going through every entity.
+ * @param <E> base type of the entities.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+public class EntityIndex<E extends Entity> {
+    /**
+     * Base type of the entities.
+     */
+    private final Class<E> base;
+    /**
+     * Entities of each type in the order they were added.
+     */
+    private final HashMap<Class<?>, ArrayList<E>> entities;
+
+    /**
+     * Creates an empty index.
+     * @param base base type of the entities.
+     */
+    public EntityIndex(Class<E> base) {
+        this.base = base;
+        this.entities = new HashMap<>();
+    }
+
+    /**
+     * Adds an entity under its type and every supertype of it.
+     * @param entity entity to be added.
+     */
+    public void add(E entity) {
+        /*
+         * Go up the class hierarchy until the base type and add the
+         * entity to the list of each type.
+         */
+        for (Class<?> type = entity.getClass();
+             base.isAssignableFrom(type);
+             type = type.getSuperclass()) {
+            entities.computeIfAbsent(type, t -> new ArrayList<>())
+                    .add(entity);
+        }
+    }
+
+    /**
+     * Removes an entity from its type and every supertype of it.
+     * @param entity entity to be removed.
+     */
+    public void remove(E entity) {
+        /*
+         * Go up the class hierarchy until the base type and remove the
+         * entity from the list of each type.
+         */
+        for (Class<?> type = entity.getClass();
+             base.isAssignableFrom(type);
+             type = type.getSuperclass()) {
+            ArrayList<E> list = entities.get(type);
+
+            // Only remove the entity if the type has been indexed.
+            if (list != null) {
+                list.remove(entity);
+            }
+        }
+    }
+
+    /**
+     * Gets the entities of a type, including its subtypes. The list is
+     * kept by the index and must not be changed.
+     * @param type type of the entities.
+     * @param <T> type of the entities.
+     * @return entities of the type in the order they were added.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends E> List<T> get(Class<T> type) {
+        ArrayList<E> list = entities.get(type);
+        return list == null ? Collections.emptyList() : (List<T>) list;
+    }
+
+    /**
+     * Gets the number of entities of a type, including its subtypes.
+     * @param type type of the entities.
+     * @return number of entities of the type.
+     */
+    public int count(Class<? extends E> type) {
+        ArrayList<E> list = entities.get(type);
+        return list == null ? 0 : list.size();
+    }
+}
@@ -4,35 +4,51 @@ import com.example.spacechase.models.Level;
 import com.example.spacechase.models.characters.Character;
 import com.example.spacechase.models.characters.Player;
 import com.example.spacechase.models.items.Bomb;
-import javafx.animation.AnimationTimer;
-import java.time.Clock;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 
 /**
  * This class represents a game clock. A game clock contains
  * components of a game loop and time interval for each character update.
+ * The clock does not keep time by itself, it is stepped by calling
+ * tick with a monotonic time in nanoseconds, either from an animation
+ * timer or programmatically when the level is run without a display.
+ * <p>
+ * Elapsed time is collected and the game is advanced in fixed steps,
+ * so every update happens the same number of times however the frames
+ * are spread. If the game falls too far behind, only a bounded number
+ * of steps are caught up and the rest are dropped.
  *
  * @author Rami Abdulrazzaq
  * @author Tristan Tsang
- * @version 1.0.1
+ * @version 1.0.8
  */
 public class GameClock {
     /**
      * Milliseconds in one second.
      */
     private static final double MILLISECONDS = 1000.0;
+    /**
+     * Nanoseconds in one millisecond.
+     */
+    private static final long NANOSECONDS = 1_000_000L;
     /**
      * Time interval between each tick of the clock.
      */
-    private static final double CLOCK_TICK = 50.0;
+    private static final long CLOCK_TICK = 50;
     /**
      * Time interval between each tick of the player.
      */
-    private static final double PLAYER_TICK = 100.0;
+    private static final long PLAYER_TICK = 100;
     /**
      * Time interval between each tick of the npc.
      */
-    private static final double NPC_TICK = 1000.0;
+    private static final long NPC_TICK = 1000;
+    /**
+     * Most time in milliseconds that is caught up in a single tick.
+     */
+    private static final long MAX_CATCH_UP = 250;
 
     /**
      * Time until bomb explodes.
@@ -46,6 +62,55 @@ public class GameClock {
      * Level of the clock.
      */
     private final Level level;
+    /**
+     * Actions waiting to be run at a later time.
+     */
+    private final ArrayList<ScheduledAction> scheduled;
+    /**
+     * Characters of the level at the start of a step, reused every step
+     * so that steps do not allocate.
+     */
+    private Character[] characters;
+    /**
+     * Bombs that have been triggered and are counting down.
+     */
+    private final ArrayList<Bomb> fuses;
+    /**
+     * Time interval in milliseconds of each task.
+     */
+    private final EnumMap<Task, Long> tickRates;
+    /**
+     * Length of a fixed step in milliseconds.
+     */
+    private long step;
+    /**
+     * Time of the game in milliseconds, only advanced in fixed steps.
+     */
+    private long now;
+    /**
+     * Time of the last tick in nanoseconds.
+     */
+    private long lastNanos;
+    /**
+     * Elapsed time in nanoseconds that has not been stepped yet.
+     */
+    private long accumulator;
+    /**
+     * Number of steps run since the level started.
+     */
+    private long steps;
+    /**
+     * Number of steps dropped because the game fell too far behind.
+     */
+    private long droppedSteps;
+    /**
+     * Number of steps run in the last tick.
+     */
+    private int lastCatchUp;
+    /**
+     * Most time in nanoseconds the game has been behind at a tick.
+     */
+    private long maxLag;
 
     /**
      * Creates a new GameClock instance.
@@ -53,98 +118,346 @@ public class GameClock {
      */
     public GameClock(Level level) {
         this.level = level;
+        this.scheduled = new ArrayList<>();
+        this.characters = new Character[0];
+        this.fuses = new ArrayList<>();
+        this.tickRates = new EnumMap<>(Task.class);
+        this.tickRates.put(Task.OXYGEN, CLOCK_TICK);
+        this.tickRates.put(Task.PLAYER, PLAYER_TICK);
+        this.tickRates.put(Task.NPC, NPC_TICK);
+        this.step = computeStep();
     }
 
     /**
-     * Initializes the countdown of time and updates of characters.
+     * Starts counting the elapsed time from the given time.
+     * @param nanos current monotonic time in nanoseconds.
      */
-    public void initialize() {
+    public void initialize(long nanos) {
         run = true;
-        AnimationTimer timer = new AnimationTimer() {
-            final Clock clock = java.time.Clock.systemDefaultZone();
-            private long last = clock.millis();
-            private long playerLast = last;
-            private long npcLast = last;
-            @Override
-            public void handle(long l) {
-                long now = clock.millis();
-                double time = level.getTime();
-                final Character[] characters = level.getCharacters()
-                        .toArray(Character[]::new)
-                        .clone();
-                final Bomb[] bombs = level.getItems()
-                        .stream()
-                        .filter(item -> item instanceof Bomb)
-                        .toArray(Bomb[]::new)
-                        .clone();
-                // If there is no more time, then stop the timer.
-                if (time <= 0) {
-                    this.stop();
-                    level.end(false);
+        lastNanos = nanos;
+        accumulator = 0;
+    }
+
+    /**
+     * Collects the time elapsed since the last tick and advances the
+     * game by as many fixed steps as fit in it.
+     * @param nanos current monotonic time in nanoseconds.
+     */
+    public void tick(long nanos) {
+        long elapsed = nanos - lastNanos;
+        lastNanos = nanos;
+
+        // Time does not pass while the game is paused or has ended.
+        if (!run || level.isEnded()) {
+            accumulator = 0;
+            return;
+        }
+
+        accumulator += elapsed;
+        maxLag = Math.max(maxLag, accumulator);
+
+        long stepNanos = step * NANOSECONDS;
+        long maxSteps = Math.max(1, MAX_CATCH_UP / step);
+        lastCatchUp = 0;
+        /*
+         * Run a step for every whole step of elapsed time, stop early
+         * when too many steps have been run or the game is stopped.
+         */
+        while (run && accumulator >= stepNanos && lastCatchUp < maxSteps) {
+            step();
+            accumulator -= stepNanos;
+            lastCatchUp++;
+        }
+
+        // Drop the steps that could not be caught up.
+        if (accumulator >= stepNanos) {
+            long dropped = accumulator / stepNanos;
+            droppedSteps += dropped;
+            accumulator -= dropped * stepNanos;
+        }
+    }
+
+    /**
+     * Advances the game by a single fixed step. Counts down the time,
+     * updates characters and bombs whose time interval has passed.
+     */
+    public void step() {
+        now += step;
+        steps++;
+        runScheduled();
+
+        // Nothing changes once the level has ended.
+        if (level.isEnded()) {
+            return;
+        }
+
+        double levelTime = level.getTime();
+        int characterCount = copyCharacters();
+        // If there is no more time, then end the level.
+        if (levelTime <= 0) {
+            level.end(false);
+            return;
+        }
+
+        // If the clock interval has passed, then decrease the time.
+        if (isDue(Task.OXYGEN)) {
+            level.setTime(levelTime
+                    - tickRates.get(Task.OXYGEN) / MILLISECONDS);
+        }
+
+        // If the player interval has passed, then update the player.
+        if (isDue(Task.PLAYER)) {
+            // Update each player in all the characters of level.
+            for (int i = 0; i < characterCount; i++) {
+                // Only update the character if it is a player.
+                if (characters[i] instanceof Player player) {
+                    player.update();
                 }
+            }
+        }
 
-                // If game is running, update every character in the map.
-                if (run) {
-                    /* If last tick is more than or equal to the clock tick,
-                     then decrease the time by time interval. */
-                    if (now - last >= CLOCK_TICK) {
-                        last = now;
-                        level.setTime(time - CLOCK_TICK / MILLISECONDS);
-                    }
-
-                    /* If last tick is more than or equal to the player tick,
-                     then update the player in level. */
-                    if (now - playerLast >= PLAYER_TICK) {
-                        // Update each player in all the characters of level.
-                        for (Player player : Arrays.stream(characters)
-                                .filter(c -> c instanceof Player)
-                                .toArray(Player[]::new)) {
-                            player.update();
-                        }
-
-                        playerLast = now;
-
-                    }
-
-                    /* If last tick is more than or equal to the enemy tick,
-                     then update the enemies in level. */
-                    if (now - npcLast >= NPC_TICK) {
-                        /* Update each non-player in all the characters
-                         of level. */
-                        for (Character character : characters) {
-                            if (!(character instanceof Player)) {
-                                character.update();
-                            }
-                        }
-
-                        npcLast = now;
-                    }
-                    for (Bomb bomb : bombs) {
-                        /*if bomb is not triggered
-                        then check if it can be triggered and
-                        trigger it.
-                         */
-                        if (!bomb.getIsTriggered()) {
-                            if (bomb.canTrigger()) {
-                                bomb.trigger(now);
-                            }
-                            //if the bomb isn't detonated then detonate it.
-                        } else if (!bomb.getIsDetonated()) {
-                            /*if 3 seconds have passed
-                            since it has been triggered
-                            then detonate it.
-                             */
-                            if (now - bomb.getInitTime() >= BOMB_EXPLODE) {
-                                bomb.setIsDetonated();
-                                bomb.destroyItems();
-                            }
-                        }
-                    }
+        // If the enemy interval has passed, then update the enemies.
+        if (isDue(Task.NPC)) {
+            /* Update each non-player in all the characters
+             of level. */
+            for (int i = 0; i < characterCount; i++) {
+                /*
+                 * Only update the character if it is not a player and
+                 * it has not been removed earlier in this step.
+                 */
+                if (!(characters[i] instanceof Player)
+                        && !characters[i].isRemoved()) {
+                    characters[i].update();
                 }
             }
-        };
+        }
+
+        // Check every bomb once, after that bombs are triggered by moves.
+        if (steps == 1) {
+            triggerBombs();
+        }
 
-        timer.start();
+        burnFuses();
+    }
+
+    /**
+     * Copies the characters of the level into the reused character
+     * array, so characters can be removed while others are updated.
+     * @return number of characters copied.
+     */
+    private int copyCharacters() {
+        ArrayList<Character> list = level.getCharacters();
+        // Grow the array if the characters no longer fit.
+        if (characters.length < list.size()) {
+            characters = new Character[list.size()];
+        }
+
+        list.toArray(characters);
+        return list.size();
+    }
+
+    /**
+     * Triggers every bomb that has a character next to it.
+     */
+    private void triggerBombs() {
+        List<Bomb> bombs = level.getItems(Bomb.class);
+        // Check every bomb of the level.
+        for (int i = 0; i < bombs.size(); i++) {
+            Bomb bomb = bombs.get(i);
+            /*if bomb is not triggered
+            then check if it can be triggered and
+            trigger it.
+             */
+            if (!bomb.getIsTriggered() && bomb.canTrigger()) {
+                bomb.trigger(now);
+            }
+        }
+    }
+
+    /**
+     * Starts counting down a triggered bomb.
+     * @param bomb bomb that has been triggered.
+     */
+    public void lightFuse(Bomb bomb) {
+        fuses.add(bomb);
+    }
+
+    /**
+     * Detonates every triggered bomb whose count down has finished.
+     */
+    private void burnFuses() {
+        int i = 0;
+        /*
+         * Go through every triggered bomb, remove it once it has
+         * detonated, either by itself or by another bomb.
+         */
+        while (i < fuses.size()) {
+            Bomb bomb = fuses.get(i);
+
+            /*if the bomb isn't detonated yet and
+            3 seconds have passed since it has been
+            triggered then detonate it.
+             */
+            if (bomb.getIsDetonated()) {
+                fuses.remove(i);
+            } else if (now - bomb.getInitTime() >= BOMB_EXPLODE) {
+                fuses.remove(i);
+                bomb.setIsDetonated();
+                bomb.destroyItems();
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the interval of a task has passed at this step. A
+     * task is due on the first step at or after each multiple of its
+     * interval in game time, so a task keeps its phase when the length
+     * of a step changes.
+     * @param task task to be checked.
+     * @return task is due or not.
+     */
+    private boolean isDue(Task task) {
+        return now % tickRates.get(task) < step;
+    }
+
+    /**
+     * Gets the length of a step that every interval is a multiple of.
+     * @return greatest common divisor of the intervals in milliseconds.
+     */
+    private long computeStep() {
+        long divisor = 0;
+        // Find the greatest common divisor of every interval.
+        for (long rate : tickRates.values()) {
+            long a = divisor;
+            long b = rate;
+            // Euclid's algorithm.
+            while (b != 0) {
+                long remainder = a % b;
+                a = b;
+                b = remainder;
+            }
+            divisor = a;
+        }
+
+        return divisor;
+    }
+
+    /**
+     * Schedules an action to be run once the delay has passed.
+     * @param delay delay in milliseconds.
+     * @param action action to be run.
+     */
+    public void schedule(long delay, Runnable action) {
+        scheduled.add(new ScheduledAction(now + delay, action));
+    }
+
+    /**
+     * Runs every scheduled action whose time has passed.
+     */
+    private void runScheduled() {
+        int i = 0;
+        /*
+         * Go through every scheduled action, run and remove it if it is
+         * due. Actions may schedule new actions while running.
+         */
+        while (i < scheduled.size()) {
+            ScheduledAction action = scheduled.get(i);
+
+            // Run the action if it is due, otherwise check the next one.
+            if (action.time() <= now) {
+                scheduled.remove(i);
+                action.action().run();
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Gets the time interval of a task.
+     * @param task task of the interval.
+     * @return time interval in milliseconds.
+     */
+    public long getTickRate(Task task) {
+        return tickRates.get(task);
+    }
+
+    /**
+     * Sets the time interval of a task. The length of a step changes to
+     * fit every interval, the time of the game is kept.
+     * @param task task of the interval.
+     * @param millis time interval in milliseconds.
+     */
+    public void setTickRate(Task task, long millis) {
+        // Only positive intervals can be stepped.
+        if (millis <= 0) {
+            throw new IllegalArgumentException(
+                    "Tick rate must be positive: " + millis);
+        }
+
+        tickRates.put(task, millis);
+        step = computeStep();
+    }
+
+    /**
+     * Gets the time of the game.
+     * @return time of the last step in milliseconds.
+     */
+    public long getNow() {
+        return now;
+    }
+
+    /**
+     * Gets the number of steps run since the level started.
+     * @return number of steps.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the number of steps dropped because the game fell too
+     * far behind.
+     * @return number of dropped steps.
+     */
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+
+    /**
+     * Gets the number of steps run in the last tick, more than one
+     * means the game was catching up.
+     * @return number of steps of the last tick.
+     */
+    public int getLastCatchUp() {
+        return lastCatchUp;
+    }
+
+    /**
+     * Gets the time the game is behind, that is elapsed time that has
+     * not been stepped yet.
+     * @return current lag in milliseconds.
+     */
+    public double getLag() {
+        return (double) accumulator / NANOSECONDS;
+    }
+
+    /**
+     * Gets the most time the game has been behind at a tick.
+     * @return highest lag in milliseconds.
+     */
+    public double getMaxLag() {
+        return (double) maxLag / NANOSECONDS;
+    }
+
+    /**
+     * Gets whether the game is running.
+     * @return game is running or not.
+     */
+    public boolean isRunning() {
+        return run;
     }
 
     /**
@@ -154,4 +467,30 @@ public class GameClock {
     public void setRun(boolean r) {
         run = r;
     }
+
+    /**
+     * Tasks of the game loop that have their own time interval.
+     */
+    public enum Task {
+        /**
+         * Counting down the oxygen of the level.
+         */
+        OXYGEN,
+        /**
+         * Moving the player.
+         */
+        PLAYER,
+        /**
+         * Moving every non-player character.
+         */
+        NPC
+    }
+
+    /**
+     * An action that is run at a time.
+     * @param time time to run the action at in milliseconds.
+     * @param action action to be run.
+     */
+    private record ScheduledAction(long time, Runnable action) {
+    }
 }
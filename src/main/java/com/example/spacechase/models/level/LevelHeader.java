@@ -0,0 +1,143 @@
+package com.example.spacechase.models.level;
+
+import java.io.File;
+
+/**
+ * This class represents the header of a level file, which is what the
+ * menus need to show a level without reading its map. It has the id,
+ * the size of the map, the saved time and score, and whether the level
+ * has been started.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+public class LevelHeader {
+    /**
+     * Id of the level.
+     */
+    private final int id;
+    /**
+     * File of the level.
+     */
+    private final File file;
+    /**
+     * Width of the map.
+     */
+    private final int width;
+    /**
+     * Height of the map.
+     */
+    private final int height;
+    /**
+     * Saved time of the level.
+     */
+    private double time;
+    /**
+     * Saved score of the level.
+     */
+    private int score;
+    /**
+     * Determines whether the level has been started.
+     */
+    private boolean isStarted;
+
+    /**
+     * Creates the header of a level file.
+     * @param id id of the level.
+     * @param file file of the level.
+     * @param width width of the map.
+     * @param height height of the map.
+     * @param time saved time of the level.
+     * @param score saved score of the level.
+     */
+    public LevelHeader(int id, File file, int width, int height,
+                       double time, int score) {
+        this.id = id;
+        this.file = file;
+        this.width = width;
+        this.height = height;
+        this.time = time;
+        this.score = score;
+    }
+
+    /**
+     * Gets id of the level.
+     * @return id of the level.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the file of the level.
+     * @return file of the level.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the width of the map.
+     * @return width of the map.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the map.
+     * @return height of the map.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the saved time of the level.
+     * @return saved time.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Sets the saved time of the level.
+     * @param time saved time.
+     */
+    public void setTime(double time) {
+        this.time = time;
+    }
+
+    /**
+     * Gets the saved score of the level.
+     * @return saved score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Sets the saved score of the level.
+     * @param score saved score.
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Checks whether the level has been started, that is its time or
+     * score is not the same as the fresh level.
+     * @return level has been started or not.
+     */
+    public boolean isStarted() {
+        return isStarted;
+    }
+
+    /**
+     * Compares the header with the header of the fresh level to decide
+     * whether the level has been started.
+     * @param fresh header of the fresh level.
+     */
+    public void compareWith(LevelHeader fresh) {
+        isStarted = time != fresh.getTime() || score != fresh.getScore();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.spacechase.models.level;
+
+import com.example.spacechase.models.items.Bomb;
+import com.example.spacechase.models.items.Item;
+import com.example.spacechase.models.items.Note;
+import com.example.spacechase.services.SoundEngine;
+
+/**
+ * This interface represents a listener of a level. A level tells its
+ * listeners about every change that has to be shown to the player,
+ * so the game logic can be run without a display. Every method does
+ * nothing by default.
+ * @author Tristan Tsang
+ * @version 1.0.1
+ */
+public interface LevelListener {
+    /**
+     * Called when the time of the level has changed.
+     * @param time new time of the level.
+     */
+    default void timeChanged(double time) {
+    }
+
+    /**
+     * Called when the score of the level has changed.
+     * @param score new score of the level.
+     */
+    default void scoreChanged(int score) {
+    }
+
+    /**
+     * Called when an entity has to be drawn at its tile, which is when
+     * it has moved to another tile.
+     * @param entity entity to be drawn.
+     */
+    default void entityMoved(Entity entity) {
+    }
+
+    /**
+     * Called when an entity has been removed from the level.
+     * @param entity removed entity.
+     */
+    default void entityRemoved(Entity entity) {
+    }
+
+    /**
+     * Called when a bomb starts counting down.
+     * @param bomb triggered bomb.
+     */
+    default void bombTriggered(Bomb bomb) {
+    }
+
+    /**
+     * Called when an item is caught in an explosion.
+     * @param item item that is exploding.
+     */
+    default void itemExploding(Item item) {
+    }
+
+    /**
+     * Called when a sound effect should be played.
+     * @param sound sound effect.
+     * @param speed playback speed of the sound effect.
+     */
+    default void soundPlayed(SoundEngine.Sound sound, double speed) {
+    }
+
+    /**
+     * Called when a player has picked up a note.
+     * @param note note that was picked up.
+     */
+    default void noteOpened(Note note) {
+    }
+
+    /**
+     * Called when the level has ended.
+     * @param isCleared level is cleared or not.
+     */
+    default void levelEnded(boolean isCleared) {
+    }
+}
@@ -0,0 +1,896 @@
+package com.example.spacechase.models.level;
+
+import com.example.spacechase.App;
+import com.example.spacechase.controllers.Controller;
+import com.example.spacechase.controllers.CutsceneController;
+import com.example.spacechase.controllers.LevelEndedMenuController;
+import com.example.spacechase.controllers.PauseMenuController;
+import com.example.spacechase.models.Level;
+import com.example.spacechase.models.characters.Character;
+import com.example.spacechase.models.characters.Player;
+import com.example.spacechase.models.items.Bomb;
+import com.example.spacechase.models.items.Item;
+import com.example.spacechase.models.items.Note;
+import com.example.spacechase.services.SoundEngine;
+import com.example.spacechase.services.Sprite;
+import com.example.spacechase.utils.Control;
+import com.example.spacechase.utils.Data;
+import com.example.spacechase.utils.Direction;
+import com.example.spacechase.utils.LevelJournal;
+import com.example.spacechase.utils.LevelTemplate;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class represents the renderer of a level. A renderer contains
+ * components of labels, images of entities, input and the animation
+ * timer that steps the game clock. It draws the level with JavaFX
+ * and shows every change the level tells it about. Only the tiles and
+ * entities in view of a camera that follows the player are drawn, and
+ * the image views of entities that leave the view are reused for the
+ * ones that come into it. Every image view draws its frame from the
+ * sprite atlas, and the frames are advanced by the animation timer.
+ * It can start the level, restart it and proceed to next level.
+ *
+ * @author Tristan Tsang
+ * @author Karl Clifford
+ * @author Alex Hallsworth
+ * @author Ben Thornber
+ * @version 1.0.15
+ */
+public class LevelRenderer implements LevelListener {
+    /**
+     * Fxml file path of end credits.
+     * @see javafx.fxml
+     */
+    private static final String END_CREDITS_FXML_PATH = "fxml/endCredits.fxml";
+    /**
+     * Fxml file path of level menu.
+     * @see javafx.fxml
+     */
+    private static final String LEVEL_MENU_FXML_PATH = "fxml/levelMenu.fxml";
+    /**
+     * Fxml file path of pause menu.
+     * @see javafx.fxml
+     */
+    private static final String PAUSE_MENU_FXML_PATH = "fxml/pauseMenu.fxml";
+    /**
+     * Fxml file path of level ended menu.
+     * @see javafx.fxml
+     */
+    private static final String LEVEL_ENDED_MENU_FXML_PATH =
+            "fxml/levelEndedMenu.fxml";
+    /**
+     * Fxml file path of note screen.
+     * @see javafx.fxml
+     */
+    private static final String NOTE_SCREEN_FXML_PATH = "fxml/noteScreen.fxml";
+    /**
+     * Url path to images directory that contains images.
+     */
+    private static final String PATH_TO_IMAGES = "images/";
+    /**
+     * Url path of image of a counting down bomb.
+     */
+    private static final String COUNTDOWN_IMAGE_PATH =
+            "images/blackHolecounting.gif";
+    /**
+     * Url path of image of an explosion.
+     */
+    private static final String EXPLOSION_IMAGE_PATH =
+            "images/blackHoleexplosion.gif";
+    /**
+     * Nanoseconds in one millisecond.
+     */
+    private static final long NANOSECONDS = 1_000_000L;
+    /**
+     * Number of tiles kept in view beyond each edge of the screen.
+     */
+    private static final int VIEW_MARGIN = 4;
+    /**
+     * Distance between the left of a tile and the left of the next.
+     */
+    private static final double TILE_STEP =
+            Tile.TILE_SIZE + Level.TILE_SPACING;
+    /**
+     * Spacing of HBox.
+     * @see javafx.scene.layout.HBox
+     */
+    private static final int HBOX_SPACING = 10;
+    /**
+     * Normal font size.
+     * @see javafx.scene.text.Font
+     */
+    private static final int NORM_FONT_SIZE = 16;
+    /**
+     * Font family.
+     * @see javafx.scene.text.Font
+     */
+    private static final String FONT_FAMILY = "neuropol x rg";
+    /**
+     * Keybinds for all controls.
+     */
+    private static final HashMap<KeyCode, Control> KEYBINDS = new HashMap<>();
+    static {
+        KEYBINDS.put(KeyCode.W, Control.UP);
+        KEYBINDS.put(KeyCode.A, Control.LEFT);
+        KEYBINDS.put(KeyCode.D, Control.RIGHT);
+        KEYBINDS.put(KeyCode.S, Control.DOWN);
+    }
+    /**
+     * Level that is drawn.
+     */
+    private final Level level;
+    /**
+     * Image views of the entities in view.
+     * @see javafx.scene.image.ImageView
+     */
+    private final HashMap<Entity, ImageView> imageViews;
+    /**
+     * Hidden image views that can be reused.
+     * @see javafx.scene.image.ImageView
+     */
+    private final ArrayDeque<ImageView> unusedImageViews;
+    /**
+     * Url path of the image of the entities that are not drawn with
+     * their own image, such as triggered bombs.
+     */
+    private final HashMap<Entity, String> imagePaths;
+    /**
+     * Sprite of each image view that is shown.
+     */
+    private final HashMap<ImageView, Sprite> sprites;
+    /**
+     * Time in milliseconds of the frames that are shown.
+     */
+    private long animationTime;
+    /**
+     * Camera that follows the player.
+     */
+    private Camera camera;
+    /**
+     * Pane of the tiles and entities in view, moved as the camera
+     * scrolls.
+     * @see javafx.scene.layout.Pane
+     */
+    private Pane world;
+    /**
+     * Canvas of the floor of the tiles in view.
+     * @see javafx.scene.canvas.Canvas
+     */
+    private Canvas floor;
+    /**
+     * Animation timer that steps the game clock every frame.
+     * @see javafx.animation.AnimationTimer
+     */
+    private AnimationTimer timer;
+    /**
+     * Journal that keeps the changes of the level.
+     */
+    private LevelJournal journal;
+    /**
+     * Label of the time.
+     */
+    private Label timeLabel;
+    /**
+     * Label of the score.
+     */
+    private Label scoreLabel;
+    /**
+     * Number of changes made to the entities and labels of the scene
+     * graph since the last step was run.
+     */
+    private int mutations;
+    /**
+     * Average number of changes made to the entities and labels of the
+     * scene graph by each step of the last frame that ran a step.
+     */
+    private double lastTickMutations;
+    /**
+     * Number of sprite frames changed by the animation in the last frame.
+     */
+    private int lastFrameChanges;
+    /**
+     * Border pane of the level.
+     * @see javafx.scene.layout.Pane
+     */
+    private BorderPane pane;
+
+    /**
+     * Creates a renderer for a level.
+     * @param level level to be drawn.
+     */
+    public LevelRenderer(Level level) {
+        this.level = level;
+        this.imageViews = new HashMap<>();
+        this.unusedImageViews = new ArrayDeque<>();
+        this.imagePaths = new HashMap<>();
+        this.sprites = new HashMap<>();
+    }
+
+    /**
+     * Changes the keybind of control.
+     * @param control control of the player.
+     * @param keyCode key code of the control.
+     */
+    public static void setKeybind(Control control, KeyCode keyCode) {
+        KEYBINDS.put(keyCode, control);
+    }
+
+    /**
+     * Gets the level that is drawn.
+     * @return level of the renderer.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the pane of the level.
+     * @return pane of the level.
+     */
+    public Pane getPane() {
+        return pane;
+    }
+
+    /**
+     * Gets the number of changes made to the scene graph by each step
+     * of the game clock, which are the moved and hidden images, the
+     * changed sprites and the changed labels. The frames shown by the
+     * animation are not counted, as they change whether or not an
+     * entity has moved. The changes of a frame that runs several steps
+     * are averaged over its steps.
+     * @return number of changes in each step of the last frame that ran
+     * a step.
+     */
+    public double getMutationsPerTick() {
+        return lastTickMutations;
+    }
+
+    /**
+     * Gets the number of sprite frames changed by the animation in the
+     * last frame.
+     * @return number of image views shown with another frame.
+     */
+    public int getFrameChanges() {
+        return lastFrameChanges;
+    }
+
+    /**
+     * Draws out all the labels, tiles, character, and items in level.
+     * and starts the level.
+     */
+    public void start() {
+        createTimeLabel();
+        createScoreLabel();
+
+        Button pauseButton = createPauseButton();
+
+        HBox hBox = new HBox();
+        hBox.setSpacing(HBOX_SPACING);
+        hBox.setStyle("-fx-background-color: BLACK");
+        hBox.getChildren().addAll(pauseButton, timeLabel, scoreLabel);
+
+        AnchorPane anchorPane = new AnchorPane();
+        draw(anchorPane);
+
+        pane = new BorderPane();
+        pane.setTop(hBox);
+        pane.setCenter(anchorPane);
+        pane.setStyle("-fx-background-color: BLACK");
+        pane.setPrefWidth(App.STAGE_WIDTH);
+        pane.setPrefHeight(App.STAGE_HEIGHT);
+
+        Controller.setRoot(pane);
+
+        journal = new LevelJournal(level, App.PERSISTENCE);
+        level.addListener(this);
+        level.addListener(journal);
+        initializeInput();
+        startTimer();
+
+        // Stop the playing music and start the level music.
+        App.MUSIC_PLAYER.stopMusic();
+        App.MUSIC_PLAYER.playSound(
+                SoundEngine.Sound.LEVEL_MUSIC,
+                SoundEngine.getMusicVolume(),
+                true);
+    }
+
+    /**
+     * Initializes input for the level. Changes direction of the player
+     * depending on the input.
+     */
+    private void initializeInput() {
+        Player player = level.getPlayer();
+        Scene scene = pane.getScene();
+        scene.setOnKeyPressed(keyEvent -> {
+            Control control =
+                    KEYBINDS.getOrDefault(keyEvent.getCode(), Control.NULL);
+
+            // Changes direction if there's an input from control.
+            player.setDirection(switch (control) {
+                case UP -> Direction.UP;
+                case LEFT -> Direction.LEFT;
+                case DOWN -> Direction.DOWN;
+                case RIGHT -> Direction.RIGHT;
+                default -> null;
+            });
+        });
+    }
+
+    /**
+     * Starts an animation timer that steps the game clock every frame.
+     */
+    private void startTimer() {
+        level.getClock().initialize(System.nanoTime());
+        mutations = 0;
+
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                level.getClock().tick(now);
+                int steps = level.getClock().getLastCatchUp();
+                // Only count the changes once a step has made them.
+                if (steps > 0) {
+                    lastTickMutations = (double) mutations / steps;
+                    mutations = 0;
+                }
+
+                lastFrameChanges = animate(now);
+            }
+        };
+
+        timer.start();
+    }
+
+    /**
+     * Shows the frame of every sprite in view at a time. Only the image
+     * views whose frame has changed are touched.
+     * @param now time in nanoseconds.
+     * @return number of image views shown with another frame.
+     */
+    private int animate(long now) {
+        animationTime = now / NANOSECONDS;
+        int changes = 0;
+        // Change the frame of each image view if it has moved on.
+        for (Map.Entry<ImageView, Sprite> entry : sprites.entrySet()) {
+            ImageView imageView = entry.getKey();
+            Rectangle2D frame = entry.getValue().getFrame(animationTime);
+            // Frames are shared, so a new frame is another object.
+            if (imageView.getViewport() != frame) {
+                changes++;
+                imageView.setViewport(frame);
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Creates a label for the time of level.
+     */
+    private void createTimeLabel() {
+        timeLabel = new Label("Oxygen: " + level.getTime());
+        timeLabel.setTextFill(Color.WHITE);
+        timeLabel.setFont(Font.font(FONT_FAMILY, NORM_FONT_SIZE));
+    }
+
+    /**
+     * Creates a label for the score of level.
+     */
+    private void createScoreLabel() {
+        scoreLabel = new Label("Score: " + level.getScore());
+        scoreLabel.setTextFill(Color.WHITE);
+        scoreLabel.setFont(Font.font(FONT_FAMILY, NORM_FONT_SIZE));
+    }
+
+    /**
+     * Creates a pause button that can pause the level
+     * by stopping the game clock, syncing the journal and showing
+     * the pause level menu.
+     * @return pause button.
+     */
+    private Button createPauseButton() {
+        Button pauseButton = new Button("||");
+        pauseButton.setFont(Font.font(FONT_FAMILY, NORM_FONT_SIZE));
+        pauseButton.setOnMouseClicked(e -> {
+            level.getClock().setRun(false);
+
+            journal.sync();
+            PauseMenuController controller = (PauseMenuController)
+                    new Controller()
+                            .loadFxml(PAUSE_MENU_FXML_PATH);
+            controller.start(this);
+        });
+
+        return pauseButton;
+    }
+
+    /**
+     * Sets up the view of the level and draws the tiles and entities in
+     * view. The view is resized to the space the pane is given.
+     * @param pane pane of the level.
+     */
+    private void draw(AnchorPane pane) {
+        TileGrid grid = level.getGrid();
+        camera = new Camera(grid.getWidth(), grid.getHeight(), VIEW_MARGIN);
+        camera.setSize(tilesAcross(App.STAGE_WIDTH, App.SCALE_X),
+                tilesAcross(App.STAGE_HEIGHT, App.SCALE_Y));
+        camera.follow(level.getPlayer().getTile());
+
+        floor = new Canvas();
+        floor.setViewOrder(2);
+        world = new Pane(floor);
+        world.setManaged(false);
+
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(pane.widthProperty());
+        clip.heightProperty().bind(pane.heightProperty());
+        pane.setClip(clip);
+        pane.getChildren().add(world);
+        pane.widthProperty().addListener(observable -> resize(pane));
+        pane.heightProperty().addListener(observable -> resize(pane));
+
+        scroll();
+    }
+
+    /**
+     * Fits the camera to the size of the pane and draws the view again.
+     * @param pane pane of the level.
+     */
+    private void resize(AnchorPane pane) {
+        camera.setSize(tilesAcross(pane.getWidth(), App.SCALE_X),
+                tilesAcross(pane.getHeight(), App.SCALE_Y));
+        camera.follow(level.getPlayer().getTile());
+        scroll();
+    }
+
+    /**
+     * Gets the number of tiles that fit in a length of the screen.
+     * @param length length of the screen.
+     * @param scale resize scale of the length.
+     * @return number of tiles, counting a tile that is partly shown.
+     */
+    private static int tilesAcross(double length, double scale) {
+        return (int) Math.ceil(length / (TILE_STEP * scale));
+    }
+
+    /**
+     * Moves the tiles and entities to the camera. If the view has moved,
+     * paints the floor in view and draws the entities that have come
+     * into view.
+     */
+    private void scroll() {
+        mutations++;
+        world.setTranslateX(-TILE_STEP * camera.getX() * App.SCALE_X);
+        world.setTranslateY(-TILE_STEP * camera.getY() * App.SCALE_Y);
+
+        // Only a view that has moved has to be drawn again.
+        if (!camera.updateView()) {
+            return;
+        }
+
+        drawFloor();
+
+        Iterator<Map.Entry<Entity, ImageView>> iterator =
+                imageViews.entrySet().iterator();
+        // Hide the image of every entity that has left the view.
+        while (iterator.hasNext()) {
+            Map.Entry<Entity, ImageView> entry = iterator.next();
+            // Only entities that are out of view are hidden.
+            if (!camera.contains(entry.getKey().getTile())) {
+                hideImageView(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        TileGrid grid = level.getGrid();
+        // Draws the item and character of each tile in view.
+        for (int y = camera.getMinY(); y < camera.getMaxY(); y++) {
+            // For every tile in view in a row.
+            for (int x = camera.getMinX(); x < camera.getMaxX(); x++) {
+                int index = grid.indexOf(x, y);
+                Item item = grid.getItem(index);
+                // If there is an item that is not drawn, draw it.
+                if (item != null && !imageViews.containsKey(item)) {
+                    showImageView(item);
+                }
+
+                Character character = grid.getCharacter(index);
+                // If there is a character that is not drawn, draw it.
+                if (character != null
+                        && !imageViews.containsKey(character)) {
+                    showImageView(character);
+                }
+            }
+        }
+    }
+
+    /**
+     * Paints the colours of every tile in view onto the canvas of the
+     * floor. The floor only changes when the camera scrolls, so it is
+     * painted then instead of being a node for every colour.
+     */
+    private void drawFloor() {
+        TileGrid grid = level.getGrid();
+        final double rectSize = Tile.TILE_SIZE / 2;
+        int minX = camera.getMinX();
+        int minY = camera.getMinY();
+        floor.setWidth(TILE_STEP * (camera.getMaxX() - minX - 1)
+                * App.SCALE_X + Tile.TILE_SIZE);
+        floor.setHeight(TILE_STEP * (camera.getMaxY() - minY - 1)
+                * App.SCALE_Y + Tile.TILE_SIZE);
+        floor.relocate(TILE_STEP * minX * App.SCALE_X,
+                TILE_STEP * minY * App.SCALE_Y);
+        GraphicsContext graphics = floor.getGraphicsContext2D();
+        graphics.clearRect(0, 0, floor.getWidth(), floor.getHeight());
+
+        // Paints each tile in view.
+        for (int y = minY; y < camera.getMaxY(); y++) {
+            // For every tile in view in a row.
+            for (int x = minX; x < camera.getMaxX(); x++) {
+                int index = grid.indexOf(x, y);
+                int count = grid.getColourCount(index);
+
+                // For every colour in the tile, paints its quadrant.
+                for (int i = 0; i < count; i++) {
+                    graphics.setFill(getColor(
+                            TileColour.fromId(grid.getColour(index, i))));
+                    graphics.fillRect(
+                            TILE_STEP * (x - minX) * App.SCALE_X
+                                    + rectSize * (i % 2),
+                            TILE_STEP * (y - minY) * App.SCALE_Y
+                                    + rectSize * (i < count / 2 ? 0 : 1),
+                            rectSize,
+                            rectSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Shows an image view for an entity at its tile, reuses a hidden
+     * image view if there is one.
+     * @param entity entity of the image view.
+     */
+    private void showImageView(Entity entity) {
+        ImageView imageView = unusedImageViews.poll();
+        // Create a new image view if there is none to reuse.
+        if (imageView == null) {
+            imageView = new ImageView(App.SPRITES.getImage());
+            imageView.setFitHeight(Tile.TILE_SIZE * App.SCALE_Y);
+            imageView.setPreserveRatio(true);
+            world.getChildren().add(imageView);
+        }
+
+        setSprite(imageView, imagePaths.getOrDefault(entity,
+                PATH_TO_IMAGES + entity.getImagePath()));
+        imageView.setViewOrder(entity instanceof Character ? 0 : 1);
+        imageView.setVisible(true);
+        imageViews.put(entity, imageView);
+        relocate(imageView, entity.getTile());
+    }
+
+    /**
+     * Hides an image view so it can be reused.
+     * @param imageView image view to be hidden.
+     */
+    private void hideImageView(ImageView imageView) {
+        mutations++;
+        imageView.setVisible(false);
+        sprites.remove(imageView);
+        unusedImageViews.add(imageView);
+    }
+
+    /**
+     * Moves the image to the position of a tile.
+     * @param imageView image view to be moved.
+     * @param tile tile to move onto.
+     */
+    private void relocate(ImageView imageView, Tile tile) {
+        mutations++;
+        imageView.relocate(
+                TILE_STEP * tile.getX() * App.SCALE_X,
+                TILE_STEP * tile.getY() * App.SCALE_Y);
+    }
+
+    /**
+     * Draws an image view with a sprite of the atlas, starting at the
+     * frame that is shown now. The placeholder of the atlas is drawn if
+     * the sprite is not in it.
+     * @param imageView image view to be drawn.
+     * @param path url path of the sprite.
+     */
+    private void setSprite(ImageView imageView, String path) {
+        Sprite sprite = App.SPRITES.getSprite(path);
+        mutations++;
+        sprites.put(imageView, sprite);
+        imageView.setViewport(sprite.getFrame(animationTime));
+    }
+
+    /**
+     * Gets the colour to draw a tile colour with.
+     * @param colour colour of the tile, null if not in the palette.
+     * @return the colour.
+     */
+    private Color getColor(TileColour colour) {
+        // Colours that are not in the palette are drawn black.
+        if (colour == null) {
+            return Color.BLACK;
+        }
+
+        return switch (colour) {
+            case RED -> Color.RED;
+            case YELLOW -> Color.YELLOW;
+            case BLUE -> Color.BLUE;
+            case GREEN -> Color.GREEN;
+            case CYAN -> Color.CYAN;
+            case MAGENTA -> Color.MAGENTA;
+        };
+    }
+
+    /**
+     * Updates the time in the label.
+     * @param time new time of the level.
+     */
+    @Override
+    public void timeChanged(double time) {
+        mutations++;
+        timeLabel.setText(String.format("Oxygen: %.2f", time));
+    }
+
+    /**
+     * Updates the score in the label.
+     * @param score new score of the level.
+     */
+    @Override
+    public void scoreChanged(int score) {
+        mutations++;
+        scoreLabel.setText(String.format("Score: %s", score));
+    }
+
+    /**
+     * Draws the image of the entity to the center of its tile if it is
+     * in view, hides it otherwise. The camera scrolls with the player.
+     * @param entity entity to be drawn.
+     */
+    @Override
+    public void entityMoved(Entity entity) {
+        // Scroll the view if the camera has moved with the player.
+        if (entity == level.getPlayer()
+                && camera.follow(entity.getTile())) {
+            scroll();
+        }
+
+        ImageView imageView = imageViews.get(entity);
+        /* Hide the image if the entity has left the view, draw it if it
+         has come into view. Otherwise, move the image. */
+        if (!camera.contains(entity.getTile())) {
+            // Only an entity that has been drawn has an image to hide.
+            if (imageView != null) {
+                hideImageView(imageViews.remove(entity));
+            }
+        } else if (imageView == null) {
+            showImageView(entity);
+        } else {
+            relocate(imageView, entity.getTile());
+        }
+    }
+
+    /**
+     * Hides the image of the entity.
+     * @param entity removed entity.
+     */
+    @Override
+    public void entityRemoved(Entity entity) {
+        ImageView imageView = imageViews.remove(entity);
+        imagePaths.remove(entity);
+
+        // Hide the image if the entity has been drawn.
+        if (imageView != null) {
+            hideImageView(imageView);
+        }
+    }
+
+    /**
+     * Shows the count down image on the bomb.
+     * @param bomb triggered bomb.
+     */
+    @Override
+    public void bombTriggered(Bomb bomb) {
+        setImagePath(bomb, COUNTDOWN_IMAGE_PATH);
+    }
+
+    /**
+     * Shows the explosion image on the item.
+     * @param item item that is exploding.
+     */
+    @Override
+    public void itemExploding(Item item) {
+        setImagePath(item, EXPLOSION_IMAGE_PATH);
+    }
+
+    /**
+     * Draws an entity with another image from now on.
+     * @param entity entity to be drawn.
+     * @param path url path of the image.
+     */
+    private void setImagePath(Entity entity, String path) {
+        imagePaths.put(entity, path);
+        ImageView imageView = imageViews.get(entity);
+
+        // Change the sprite if the entity is in view.
+        if (imageView != null) {
+            setSprite(imageView, path);
+        }
+    }
+
+    /**
+     * Plays the sound effect.
+     * @param sound sound effect.
+     * @param speed playback speed of the sound effect.
+     */
+    @Override
+    public void soundPlayed(SoundEngine.Sound sound, double speed) {
+        // Initialise a new sound engine, so we can play a sound effect.
+        SoundEngine soundEngine = new SoundEngine();
+        soundEngine.playSound(
+                sound,
+                SoundEngine.getSoundEffectVolume(),
+                false);
+        soundEngine.setPlaybackSpeed(speed);
+    }
+
+    /**
+     * Shows the cutscene of the note.
+     * @param note note that was picked up.
+     */
+    @Override
+    public void noteOpened(Note note) {
+        CutsceneController controller = (CutsceneController)
+                new Controller()
+                        .loadFxml(NOTE_SCREEN_FXML_PATH);
+        controller.setMessage(note.getMessage());
+        controller.setRenderer(this);
+        controller.start();
+    }
+
+    /**
+     * Saves the result of the level and loads the level ended menu.
+     * @param isCleared level is cleared or not.
+     */
+    @Override
+    public void levelEnded(boolean isCleared) {
+        timer.stop();
+
+        File file = level.getFile();
+        int id = level.getId();
+        String playerName = file.getParentFile().getName();
+
+        // Replace this level with fresh start to player profile.
+        App.PERSISTENCE.copyLevel(id, playerName);
+
+        /* Copy the file for next level to player profile if level is
+         cleared. */
+        if (isCleared) {
+            App.HIGH_SCORES.addHighScore(id, playerName,
+                    (level.getScore() + (int) level.getTime()));
+            App.PERSISTENCE.copyLevel(id + 1, playerName);
+        }
+
+        LevelEndedMenuController controller = (LevelEndedMenuController)
+                new Controller()
+                        .loadFxml(LEVEL_ENDED_MENU_FXML_PATH);
+        controller.start(this, isCleared);
+
+        // Stop the playing music.
+        App.MUSIC_PLAYER.stopMusic();
+        // Initialise the sound engine to play a sound effect.
+        if (isCleared) {
+            // Play win sound effect.
+            App.MUSIC_PLAYER.playSound(
+                    SoundEngine.Sound.WIN,
+                    SoundEngine.getMusicVolume(), false);
+        } else {
+            // Play loose sound effect.
+            App.MUSIC_PLAYER.playSound(
+                    SoundEngine.Sound.LOOSE,
+                    SoundEngine.getMusicVolume(), false);
+        }
+    }
+
+    /**
+     * Restarts the level from its template once the fresh copy has
+     * replaced the level file.
+     */
+    public void restart() {
+        timer.stop();
+
+        File file = level.getFile();
+        int id = level.getId();
+        String playerName = file.getParentFile().getName();
+        App.PERSISTENCE.copyLevel(id, playerName);
+        startWhenCreated(App.PERSISTENCE.submit(() -> {
+            LevelTemplate template = App.LEVEL_TEMPLATES.get(id);
+            return template == null ? null : template.createLevel(file);
+        }), LEVEL_MENU_FXML_PATH);
+    }
+
+    /**
+     * Starts the next level from its template, goes back to the end
+     * credits if there is no next level. The player's copy of the next
+     * level is looked up once this level has been copied, and may be a
+     * text or a binary level.
+     */
+    public void next() {
+        timer.stop();
+
+        File directory = level.getFile().getParentFile();
+        int id = level.getId();
+        String playerName = directory.getName();
+        App.PERSISTENCE.copyLevel(id, playerName);
+        startWhenCreated(App.PERSISTENCE.submit(() -> {
+            File nextFile = Data.getLevelFile(directory, id + 1);
+            LevelTemplate template = nextFile.exists()
+                    ? App.LEVEL_TEMPLATES.get(id + 1)
+                    : null;
+            return template == null ? null : template.createLevel(nextFile);
+        }), END_CREDITS_FXML_PATH);
+    }
+
+    /**
+     * Starts a level once it has been created on the persistence thread.
+     * Loads a menu instead if there is no level to start, or the level
+     * menu if the level could not be created, so the screen is never
+     * left on the ended level.
+     * @param created future of the level, completed with null if there
+     *                is no level to start.
+     * @param noLevelFxmlPath fxml file path of the menu to load if there
+     *                        is no level to start.
+     */
+    private static void startWhenCreated(CompletableFuture<Level> created,
+                                         String noLevelFxmlPath) {
+        created.handleAsync((fresh, e) -> {
+            /*
+             * Go to the level menu if the level could not be created,
+             * the persistence service has warned about it already.
+             * Otherwise, start the level if there is one.
+             */
+            if (e != null) {
+                new Controller().loadFxml(LEVEL_MENU_FXML_PATH);
+            } else if (fresh == null) {
+                new Controller().loadFxml(noLevelFxmlPath);
+            } else {
+                new LevelRenderer(fresh).start();
+            }
+
+            return null;
+        }, Platform::runLater).exceptionally(e -> {
+            System.out.println("WARN: Level could not be started, "
+                    + e.getMessage());
+            return null;
+        });
+    }
+}
@@ -3,15 +3,15 @@ package com.example.spacechase.models.level;
 import com.example.spacechase.models.characters.Character;
 import com.example.spacechase.models.items.Item;
 import com.example.spacechase.utils.Direction;
-import java.util.HashMap;
-import java.util.stream.Stream;
 
 /**
  * This class represents a tile.
  * A tile contains components of colours array, position x
  * and y, links and neighbours tile, an item, and a character.
+ * A tile is a view of its index in a tile grid, every component
+ * is kept by the grid.
  * @author Tristan Tsang
- * @version 1.0.0
+ * @version 1.0.2
  */
 public class Tile {
     /**
@@ -19,46 +19,22 @@ public class Tile {
      */
     public static final double TILE_SIZE = 50;
     /**
-     * Colours of the tile.
+     * Grid of the tile.
      */
-    private final char[] colours;
+    private final TileGrid grid;
     /**
-     * X position in the map.
+     * Index of the tile in the grid.
      */
-    private final int x;
-    /**
-     * Y position in the map.
-     */
-    private final int y;
-    /**
-     * Links of the tile.
-     */
-    private final HashMap<Direction, Tile> links;
-    /**
-     * Neighbours of the tile.
-     */
-    private final HashMap<Direction, Tile> neighbours;
-    /**
-     * Item of the tile.
-     */
-    private Item item;
-    /**
-     * Character of the tile.
-     */
-    private Character character;
+    private final int index;
 
     /**
-     * Creates a new Tile instance.
-     * @param x x position.
-     * @param y y position.
-     * @param colours colours of the tile.
+     * Creates a view of a tile in a grid.
+     * @param grid grid of the tile.
+     * @param index index of the tile in the grid.
      */
-    public Tile(int x, int y, String colours) {
-        this.x = x;
-        this.y = y;
-        this.colours = colours.toCharArray();
-        this.links = new HashMap<>();
-        this.neighbours = new HashMap<>();
+    Tile(TileGrid grid, int index) {
+        this.grid = grid;
+        this.index = index;
     }
 
     /**
@@ -67,7 +43,8 @@ public class Tile {
      * @param tile linking tile.
      */
     public void setLink(Direction direction, Tile tile) {
-        links.put(direction, tile);
+        grid.setLink(index, direction,
+                tile == null ? TileGrid.NONE : tile.getIndex());
     }
 
     /**
@@ -76,7 +53,8 @@ public class Tile {
      * @param tile neighbour tile.
      */
     public void setNeighbour(Direction direction, Tile tile) {
-        neighbours.put(direction, tile);
+        grid.setNeighbour(index, direction,
+                tile == null ? TileGrid.NONE : tile.getIndex());
     }
 
     /**
@@ -84,7 +62,7 @@ public class Tile {
      * @param item item of the tile.
      */
     public void setItem(Item item) {
-        this.item = item;
+        grid.setItem(index, item);
     }
 
     /**
@@ -92,7 +70,23 @@ public class Tile {
      * @param character character of the tile.
      */
     public void setCharacter(Character character) {
-        this.character = character;
+        grid.setCharacter(index, character);
+    }
+
+    /**
+     * Gets the index of the tile in its grid.
+     * @return index of the tile.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the grid of the tile.
+     * @return grid of the tile.
+     */
+    public TileGrid getGrid() {
+        return grid;
     }
 
     /**
@@ -100,7 +94,7 @@ public class Tile {
      * @return x position.
      */
     public int getX() {
-        return x;
+        return index % grid.getWidth();
     }
 
     /**
@@ -108,23 +102,46 @@ public class Tile {
      * @return y position.
      */
     public int getY() {
-        return y;
+        return index / grid.getWidth();
     }
 
     /**
-     * Gets the colours of the tile.
+     * Gets a copy of the colours of the tile.
      * @return colours of the tile.
      */
     public char[] getColours() {
+        char[] colours = new char[grid.getColourCount(index)];
+        // Copy every colour of the tile.
+        for (int i = 0; i < colours.length; i++) {
+            colours[i] = grid.getColour(index, i);
+        }
+
         return colours;
     }
 
+    /**
+     * Gets a colour of the tile without copying the colours.
+     * @param i position of the colour.
+     * @return colour of the tile.
+     */
+    public char getColour(int i) {
+        return grid.getColour(index, i);
+    }
+
+    /**
+     * Gets the colours of the tile as a bit mask of tile colours.
+     * @return colour mask of the tile.
+     */
+    public int getColourMask() {
+        return grid.getColourMask(index);
+    }
+
     /**
      * Gets the item in the tile.
      * @return item of the tile.
      */
     public Item getItem() {
-        return item;
+        return grid.getItem(index);
     }
 
     /**
@@ -132,7 +149,7 @@ public class Tile {
      * @return character of the tile.
      */
     public Character getCharacter() {
-        return character;
+        return grid.getCharacter(index);
     }
 
     /**
@@ -141,7 +158,7 @@ public class Tile {
      * @return linked tile in direction.
      */
     public Tile getLinkedTile(Direction direction) {
-        return links.get(direction);
+        return grid.getTile(grid.getLink(index, direction));
     }
 
     /**
@@ -150,7 +167,7 @@ public class Tile {
      * @return neighbour tile in direction.
      */
     public Tile getNeighbourTile(Direction direction) {
-        return neighbours.get(direction);
+        return grid.getTile(grid.getNeighbour(index, direction));
     }
 
     /**
@@ -160,20 +177,8 @@ public class Tile {
      * of the tiles are the same.
      */
     public boolean equalsColour(Tile t) {
-        /* Loop through both tile colours and return true
-         if same colour is found. */
-        for (char x : (t).getColours()) {
-            /* Loop through colours of this tile to see
-             if there is any match of colours to this
-             colour. */
-            for (char y : colours) {
-                // return true if same colour is found.
-                if (x == y) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return (grid.getColourMask(index)
+                & t.grid.getColourMask(t.index)) != 0;
     }
 
     /**
@@ -189,7 +194,7 @@ public class Tile {
          Otherwise, return false as nothing else should
          be equal to this tile. */
         if (o instanceof Tile t) {
-            return t.getX() == x && t.getY() == y;
+            return t.getX() == getX() && t.getY() == getY();
         } else {
             return false;
         }
@@ -202,16 +207,13 @@ public class Tile {
      */
     @Override
     public String toString() {
+        Character character = getCharacter();
+        Item item = getItem();
         String charStr = character == null ? "" : character.toString();
         String itemStr = item == null ? "" : item.toString();
         String entityType = charStr + itemStr;
         entityType = entityType.isBlank() ? "_" : entityType;
 
-        return String.format("%s%s",
-                String.join("",
-                        Stream.of(colours)
-                                .map(String::valueOf)
-                                .toArray(String[]::new)),
-                entityType);
+        return String.format("%s%s", new String(getColours()), entityType);
     }
 }
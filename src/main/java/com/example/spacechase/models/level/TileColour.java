@@ -0,0 +1,103 @@
+package com.example.spacechase.models.level;
+
+/**
+ * This enum represents the colours of the palette a tile can be painted
+ * with. Each colour has the character it is saved as in a level file and
+ * its own bit, so the colours of a tile can be kept as a bit mask and two
+ * tiles share a colour when their masks have a bit in common.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+public enum TileColour {
+    /**
+     * Red.
+     */
+    RED('R'),
+    /**
+     * Yellow.
+     */
+    YELLOW('Y'),
+    /**
+     * Blue.
+     */
+    BLUE('B'),
+    /**
+     * Green.
+     */
+    GREEN('G'),
+    /**
+     * Cyan.
+     */
+    CYAN('C'),
+    /**
+     * Magenta.
+     */
+    MAGENTA('M');
+
+    /**
+     * All colours in order of their bits.
+     */
+    private static final TileColour[] COLOURS = values();
+    /**
+     * Character of the colour in a level file.
+     */
+    private final char id;
+
+    /**
+     * Creates a colour.
+     * @param id character of the colour in a level file.
+     */
+    TileColour(char id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the character of the colour in a level file.
+     * @return id of the colour.
+     */
+    public char getId() {
+        return id;
+    }
+
+    /**
+     * Gets the bit of the colour in a colour mask.
+     * @return mask of the colour.
+     */
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Gets the colour of a character in a level file.
+     * @param id character of the colour.
+     * @return colour of the character, null if it is not in the palette.
+     */
+    public static TileColour fromId(char id) {
+        // Find the colour with the same character.
+        for (TileColour colour : COLOURS) {
+            if (colour.id == id) {
+                return colour;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the bit of a colour character in a colour mask.
+     * @param id character of the colour.
+     * @return mask of the colour, 0 if it is not in the palette.
+     */
+    public static int maskOf(char id) {
+        TileColour colour = fromId(id);
+        return colour == null ? 0 : colour.getMask();
+    }
+
+    /**
+     * Gets the number of colours in the palette.
+     * @return number of colours.
+     */
+    public static int count() {
+        return COLOURS.length;
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.spacechase.models.level;
+
+import com.example.spacechase.models.characters.Character;
+import com.example.spacechase.models.items.Item;
+import com.example.spacechase.utils.Direction;
+import java.util.Arrays;
+
+/**
+ * This class represents the grid of tiles of a level. Every component
+ * of the tiles is kept in a flat array indexed by y * width + x, links
+ * and neighbours are kept as indices of tiles with NONE when there is
+ * no tile. Each Tile is only a view of its index in the grid.
+ * @author Tristan Tsang
+ * @version 1.0.3
+ */
+public class TileGrid {
+    /**
+     * Index used when there is no tile.
+     */
+    public static final int NONE = -1;
+    /**
+     * Most colours a tile can have.
+     */
+    public static final int MAX_COLOURS = 4;
+    /**
+     * Number of directions of each tile.
+     */
+    private static final int DIRECTIONS = Direction.values().length;
+    /**
+     * Number of tiles in a row.
+     */
+    private final int width;
+    /**
+     * Number of rows.
+     */
+    private final int height;
+    /**
+     * Index of the linked tile in each direction of each tile.
+     */
+    private final int[] links;
+    /**
+     * Index of the neighbour tile in each direction of each tile.
+     */
+    private final int[] neighbours;
+    /**
+     * Colours of each tile in the order they were read.
+     */
+    private final char[] colours;
+    /**
+     * Number of colours of each tile.
+     */
+    private final byte[] colourCounts;
+    /**
+     * Colours of each tile as a bit mask of tile colours.
+     */
+    private final int[] colourMasks;
+    /**
+     * Character on each tile.
+     */
+    private final Character[] characters;
+    /**
+     * Item on each tile.
+     */
+    private final Item[] items;
+    /**
+     * Position in the current sweep where each colour was last seen.
+     */
+    private final int[] lastSeen;
+    /**
+     * Views of each tile.
+     */
+    private final Tile[][] tileMap;
+
+    /**
+     * Creates a grid without links or entities.
+     * @param width number of tiles in a row.
+     * @param height number of rows.
+     */
+    public TileGrid(int width, int height) {
+        int size = width * height;
+        this.width = width;
+        this.height = height;
+        this.links = new int[size * DIRECTIONS];
+        this.neighbours = new int[size * DIRECTIONS];
+        this.colours = new char[size * MAX_COLOURS];
+        this.colourCounts = new byte[size];
+        this.colourMasks = new int[size];
+        this.characters = new Character[size];
+        this.items = new Item[size];
+        this.lastSeen = new int[TileColour.count()];
+        this.tileMap = new Tile[height][width];
+        Arrays.fill(links, NONE);
+        Arrays.fill(neighbours, NONE);
+
+        // Create a view for every tile of the grid.
+        for (int y = 0; y < height; y++) {
+            // For every tile in the row.
+            for (int x = 0; x < width; x++) {
+                tileMap[y][x] = new Tile(this, indexOf(x, y));
+            }
+        }
+    }
+
+    /**
+     * Creates a grid with the colours, links and neighbours of another
+     * grid, without entities. The links are copied instead of built.
+     * @param terrain grid to copy the tiles from.
+     */
+    public TileGrid(TileGrid terrain) {
+        this(terrain.width, terrain.height);
+        System.arraycopy(terrain.links, 0, links, 0, links.length);
+        System.arraycopy(terrain.neighbours, 0, neighbours, 0,
+                neighbours.length);
+        System.arraycopy(terrain.colours, 0, colours, 0, colours.length);
+        System.arraycopy(terrain.colourCounts, 0, colourCounts, 0,
+                colourCounts.length);
+        System.arraycopy(terrain.colourMasks, 0, colourMasks, 0,
+                colourMasks.length);
+    }
+
+    /**
+     * Gets the index of a position.
+     * @param x x position.
+     * @param y y position.
+     * @return index of the tile at the position.
+     */
+    public int indexOf(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * Gets the view of the tile at an index.
+     * @param index index of the tile.
+     * @return tile at the index, null if the index is NONE.
+     */
+    public Tile getTile(int index) {
+        return index == NONE ? null : tileMap[index / width][index % width];
+    }
+
+    /**
+     * Gets the views of every tile, indexed by row then column.
+     * @return tile map of the grid.
+     */
+    public Tile[][] getTileMap() {
+        return tileMap;
+    }
+
+    /**
+     * Gets the number of tiles in a row.
+     * @return width of the grid.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of rows.
+     * @return height of the grid.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the index of the linked tile of a tile.
+     * @param index index of the tile.
+     * @param direction direction of the link.
+     * @return index of the linked tile, NONE if there is no link.
+     */
+    public int getLink(int index, Direction direction) {
+        return links[index * DIRECTIONS + direction.ordinal()];
+    }
+
+    /**
+     * Sets the linked tile of a tile.
+     * @param index index of the tile.
+     * @param direction direction of the link.
+     * @param link index of the linked tile, NONE for no link.
+     */
+    public void setLink(int index, Direction direction, int link) {
+        links[index * DIRECTIONS + direction.ordinal()] = link;
+    }
+
+    /**
+     * Gets the index of the neighbour tile of a tile.
+     * @param index index of the tile.
+     * @param direction direction of the neighbour.
+     * @return index of the neighbour, NONE if at the edge of the grid.
+     */
+    public int getNeighbour(int index, Direction direction) {
+        return neighbours[index * DIRECTIONS + direction.ordinal()];
+    }
+
+    /**
+     * Sets the neighbour tile of a tile.
+     * @param index index of the tile.
+     * @param direction direction of the neighbour.
+     * @param neighbour index of the neighbour, NONE for no neighbour.
+     */
+    public void setNeighbour(int index, Direction direction, int neighbour) {
+        neighbours[index * DIRECTIONS + direction.ordinal()] = neighbour;
+    }
+
+    /**
+     * Sets each tile their neighbour and link tile if possible. A link
+     * is the closest tile in a direction that shares a colour with the
+     * tile. Every row and column is swept once each way, keeping where
+     * each colour was last seen, so no tile is visited more than once
+     * per direction.
+     */
+    public void buildLinks() {
+        // Sweep every row to the right and back to the left.
+        for (int y = 0; y < height; y++) {
+            int first = indexOf(0, y);
+            int last = indexOf(width - 1, y);
+            sweep(first, 1, width, Direction.LEFT);
+            sweep(last, -1, width, Direction.RIGHT);
+        }
+
+        // Sweep every column downwards and back upwards.
+        for (int x = 0; x < width; x++) {
+            int first = indexOf(x, 0);
+            int last = indexOf(x, height - 1);
+            sweep(first, width, height, Direction.UP);
+            sweep(last, -width, height, Direction.DOWN);
+        }
+    }
+
+    /**
+     * Sweeps a row or column and sets the link and neighbour of each
+     * tile towards the start of the sweep.
+     * @param first index of the first tile of the sweep.
+     * @param stride difference in index between two tiles in the sweep.
+     * @param length number of tiles in the sweep.
+     * @param direction direction of the start of the sweep.
+     */
+    private void sweep(int first, int stride, int length,
+                       Direction direction) {
+        Arrays.fill(lastSeen, NONE);
+        int offset = direction.ordinal();
+
+        // Visit every tile of the sweep in order.
+        for (int i = 0; i < length; i++) {
+            int index = first + i * stride;
+            int mask = colourMasks[index];
+            int closest = NONE;
+
+            /*
+             * Find the closest earlier tile that has any colour of this
+             * tile, then remember this tile as the last of its colours.
+             */
+            for (int m = mask; m != 0; m &= m - 1) {
+                int bit = Integer.numberOfTrailingZeros(m);
+                closest = Math.max(closest, lastSeen[bit]);
+                lastSeen[bit] = i;
+            }
+
+            links[index * DIRECTIONS + offset] = closest == NONE
+                    ? NONE
+                    : first + closest * stride;
+            neighbours[index * DIRECTIONS + offset] = i == 0
+                    ? NONE
+                    : index - stride;
+        }
+    }
+
+    /**
+     * Sets the colours of a tile.
+     * @param index index of the tile.
+     * @param tileColours colours of the tile.
+     */
+    public void setColours(int index, String tileColours) {
+        int count = Math.min(tileColours.length(), MAX_COLOURS);
+        int mask = 0;
+        // Keep every colour and add its bit to the mask.
+        for (int i = 0; i < count; i++) {
+            char colour = tileColours.charAt(i);
+            colours[index * MAX_COLOURS + i] = colour;
+            mask |= TileColour.maskOf(colour);
+        }
+
+        colourCounts[index] = (byte) count;
+        colourMasks[index] = mask;
+    }
+
+    /**
+     * Gets the number of colours of a tile.
+     * @param index index of the tile.
+     * @return number of colours.
+     */
+    public int getColourCount(int index) {
+        return colourCounts[index];
+    }
+
+    /**
+     * Gets a colour of a tile.
+     * @param index index of the tile.
+     * @param i position of the colour in the tile.
+     * @return colour of the tile.
+     */
+    public char getColour(int index, int i) {
+        return colours[index * MAX_COLOURS + i];
+    }
+
+    /**
+     * Gets the colours of a tile as a bit mask.
+     * @param index index of the tile.
+     * @return colour mask of the tile.
+     */
+    public int getColourMask(int index) {
+        return colourMasks[index];
+    }
+
+    /**
+     * Gets the character on a tile.
+     * @param index index of the tile.
+     * @return character of the tile.
+     */
+    public Character getCharacter(int index) {
+        return characters[index];
+    }
+
+    /**
+     * Sets the character on a tile.
+     * @param index index of the tile.
+     * @param character character of the tile.
+     */
+    public void setCharacter(int index, Character character) {
+        characters[index] = character;
+    }
+
+    /**
+     * Gets the item on a tile.
+     * @param index index of the tile.
+     * @return item of the tile.
+     */
+    public Item getItem(int index) {
+        return items[index];
+    }
+
+    /**
+     * Sets the item on a tile.
+     * @param index index of the tile.
+     * @param item item of the tile.
+     */
+    public void setItem(int index, Item item) {
+        items[index] = item;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.spacechase.services;
+
+import com.example.spacechase.utils.Data;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The HighScoreStore class keeps the high scores of every level in
+ * memory. The high score file is read once, the first time the scores
+ * are needed, and every change is written back behind the game by the
+ * persistence service. Changes made before a write has started are
+ * written together.
+ * <p>
+ * The scores are kept as a snapshot that is never changed, a change
+ * replaces the snapshot instead. Readers and the writer always see
+ * every level in the same state, even while a write is in progress.
+ * <p>
+ * The leaderboard of a level is built the first time it is needed and
+ * is kept up to date with every change after that.
+ * @author Tristan Tsang
+ * @version 1.0.3
+ */
+public class HighScoreStore {
+    /**
+     * Number of scores kept in order by each leaderboard.
+     */
+    private static final int LEADERBOARD_SIZE = 10;
+    /**
+     * Service that writes the high score file.
+     */
+    private final PersistenceService persistence;
+    /**
+     * High scores of each player by the id of the level.
+     */
+    private volatile Map<Integer, Map<String, Integer>> snapshot;
+    /**
+     * Determines whether the scores have changed since the last write.
+     */
+    private boolean isDirty;
+    /**
+     * Future of the write that has been submitted but not started,
+     * null if there is none.
+     */
+    private CompletableFuture<Void> pendingWrite;
+    /**
+     * Leaderboards that have been built by the id of the level.
+     */
+    private final Map<Integer, Leaderboard> leaderboards = new HashMap<>();
+
+    /**
+     * Creates a high score store. The scores are read the first time
+     * they are needed.
+     * @param persistence service that writes the high score file.
+     */
+    public HighScoreStore(PersistenceService persistence) {
+        this.persistence = persistence;
+    }
+
+    /**
+     * Gets the high scores of every level.
+     * @return high scores of each player by the id of the level,
+     *         the map must not be changed.
+     */
+    public Map<Integer, Map<String, Integer>> getHighScores() {
+        Map<Integer, Map<String, Integer>> scores = snapshot;
+        // Read the high score file if it has not been read yet.
+        if (scores == null) {
+            scores = load();
+        }
+
+        return scores;
+    }
+
+    /**
+     * Gets the high scores of a level.
+     * @param id id of the level.
+     * @return high score of each player, the map must not be changed.
+     */
+    public Map<String, Integer> getHighScore(int id) {
+        return getHighScores().getOrDefault(id, Collections.emptyMap());
+    }
+
+    /**
+     * Gets the leaderboard of a level.
+     * @param id id of the level.
+     * @return leaderboard of the level.
+     */
+    public synchronized Leaderboard getLeaderboard(int id) {
+        return leaderboards.computeIfAbsent(id,
+                k -> new Leaderboard(LEADERBOARD_SIZE, getHighScore(k)));
+    }
+
+    /**
+     * Adds a new high score of a player. The score is only kept if it is
+     * higher than the old score of the player.
+     * @param id id of the level.
+     * @param name name of the player.
+     * @param score score of the player.
+     * @return future that is completed once the score has been written.
+     */
+    public synchronized CompletableFuture<Void> addHighScore(int id,
+                                                             String name,
+                                                             int score) {
+        Map<String, Integer> level = getHighScore(id);
+        // Keep the old score if it is not lower.
+        if (level.containsKey(name) && level.get(name) >= score) {
+            return persistence.flush();
+        }
+
+        HashMap<String, Integer> newLevel = new HashMap<>(level);
+        newLevel.put(name, score);
+        HashMap<Integer, Map<String, Integer>> scores =
+                new HashMap<>(getHighScores());
+        scores.put(id, Collections.unmodifiableMap(newLevel));
+
+        Leaderboard leaderboard = leaderboards.get(id);
+        // Place the score on the leaderboard if it has been built.
+        if (leaderboard != null) {
+            leaderboard.update(name, score);
+        }
+
+        return replace(scores);
+    }
+
+    /**
+     * Removes the high scores of a set of players from every level. The
+     * scores are written once for all of them.
+     * @param names names of the players.
+     * @return future that is completed once the scores have been written.
+     */
+    public synchronized CompletableFuture<Void> removeHighScores(
+            Collection<String> names) {
+        HashMap<Integer, Map<String, Integer>> scores =
+                new HashMap<>(getHighScores());
+        boolean isChanged = false;
+        // Remove the scores of the players from every level.
+        for (Map.Entry<Integer, Map<String, Integer>> entry
+                : scores.entrySet()) {
+            // Only copy the levels the players have scores in.
+            if (!Collections.disjoint(entry.getValue().keySet(), names)) {
+                HashMap<String, Integer> level =
+                        new HashMap<>(entry.getValue());
+                level.keySet().removeAll(names);
+                entry.setValue(Collections.unmodifiableMap(level));
+                isChanged = true;
+            }
+        }
+
+        // Nothing has to be written if the players have no scores.
+        if (!isChanged) {
+            return persistence.flush();
+        }
+
+        // Remove the players from every leaderboard that has been built.
+        for (Leaderboard leaderboard : leaderboards.values()) {
+            leaderboard.removeAll(names);
+        }
+
+        return replace(scores);
+    }
+
+    /**
+     * Replaces the snapshot and submits a write if there is not one
+     * waiting already.
+     * @param scores new high scores of every level.
+     * @return future that is completed once the scores have been written.
+     */
+    private synchronized CompletableFuture<Void> replace(
+            Map<Integer, Map<String, Integer>> scores) {
+        snapshot = Collections.unmodifiableMap(scores);
+        isDirty = true;
+
+        // A waiting write will write this snapshot as well.
+        if (pendingWrite == null) {
+            pendingWrite = persistence.execute(this::write);
+        }
+
+        return pendingWrite;
+    }
+
+    /**
+     * Writes the latest snapshot to the high score file. Run by the
+     * persistence service.
+     */
+    private void write() {
+        Map<Integer, Map<String, Integer>> scores;
+        // Take the snapshot, later changes need a new write.
+        synchronized (this) {
+            pendingWrite = null;
+            // Nothing has changed since the last write.
+            if (!isDirty) {
+                return;
+            }
+
+            isDirty = false;
+            scores = snapshot;
+        }
+
+        Data.writeHighScores(scores);
+    }
+
+    /**
+     * Reads the high score file if it has not been read yet.
+     * @return high scores of each player by the id of the level.
+     */
+    private synchronized Map<Integer, Map<String, Integer>> load() {
+        // Another thread may have read the file while this one waited.
+        if (snapshot == null) {
+            HashMap<Integer, Map<String, Integer>> scores = new HashMap<>();
+            // Keep the scores of each level without changing them.
+            Data.getHighScores().forEach((id, level) ->
+                    scores.put(id, Collections.unmodifiableMap(level)));
+            snapshot = Collections.unmodifiableMap(scores);
+        }
+
+        return snapshot;
+    }
+}
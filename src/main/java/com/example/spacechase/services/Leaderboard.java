@@ -0,0 +1,167 @@
+package com.example.spacechase.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The Leaderboard class keeps the best scores of a level in order. Only
+ * the top scores are kept sorted, so a new score is placed in time
+ * that grows with the size of the board instead of the number of
+ * players. Scores are ordered from highest to lowest, players with the
+ * same score are ordered by name.
+ * @author Tristan Tsang
+ * @version 1.0.1
+ */
+public class Leaderboard {
+    /**
+     * Order of the scores, highest score first then by name.
+     */
+    private static final Comparator<Map.Entry<String, Integer>> ORDER =
+            Map.Entry.<String, Integer>comparingByValue(
+                    Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey());
+    /**
+     * Number of scores kept in order.
+     */
+    private final int size;
+    /**
+     * Score of every player of the level.
+     */
+    private final Map<String, Integer> scores;
+    /**
+     * Best scores of the level in order.
+     */
+    private final TreeSet<Map.Entry<String, Integer>> top;
+
+    /**
+     * Creates a leaderboard from the scores of a level.
+     * @param size number of scores kept in order.
+     * @param scores score of every player of the level.
+     */
+    public Leaderboard(int size, Map<String, Integer> scores) {
+        this.size = size;
+        this.scores = new HashMap<>(scores);
+        this.top = new TreeSet<>(ORDER);
+        fill();
+    }
+
+    /**
+     * Gets the best scores of the level in order.
+     * @return name and score of each player on the board.
+     */
+    public synchronized List<Map.Entry<String, Integer>> getTop() {
+        return new ArrayList<>(top);
+    }
+
+    /**
+     * Gets the rank of a player among every player of the level.
+     * @param name name of the player.
+     * @return rank of the player starting from 1, 0 if the player has
+     *         no score.
+     */
+    public synchronized int getRank(String name) {
+        Integer score = scores.get(name);
+        // A player without a score has no rank.
+        if (score == null) {
+            return 0;
+        }
+
+        Map.Entry<String, Integer> entry = Map.entry(name, score);
+        // Players on the board are ranked by their place on it.
+        if (top.contains(entry)) {
+            return top.headSet(entry).size() + 1;
+        }
+
+        int rank = 1;
+        // Count every player that is ahead without sorting them.
+        for (Map.Entry<String, Integer> other : scores.entrySet()) {
+            if (ORDER.compare(other, entry) < 0) {
+                rank++;
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * Gets the number of players with a score.
+     * @return number of players of the level.
+     */
+    public synchronized int getCount() {
+        return scores.size();
+    }
+
+    /**
+     * Sets the score of a player.
+     * @param name name of the player.
+     * @param score new score of the player.
+     */
+    synchronized void update(String name, int score) {
+        Integer oldScore = scores.put(name, score);
+        boolean wasOnTop = oldScore != null
+                && top.remove(Map.entry(name, oldScore));
+
+        /*
+         * A lower score can let a player who is not on the board
+         * take its place, so the board is filled again. Otherwise,
+         * only the new score has to be placed.
+         */
+        if (wasOnTop && score < oldScore) {
+            fill();
+        } else {
+            offer(Map.entry(name, score));
+        }
+    }
+
+    /**
+     * Removes the scores of a set of players. The board is filled again
+     * at most once.
+     * @param names names of the players.
+     */
+    synchronized void removeAll(Collection<String> names) {
+        boolean wasOnTop = false;
+        // Remove each player and check whether it has left the board.
+        for (String name : names) {
+            Integer score = scores.remove(name);
+            // Only players with a score can be on the board.
+            if (score != null) {
+                wasOnTop |= top.remove(Map.entry(name, score));
+            }
+        }
+
+        // Fill the places of the players who have left the board.
+        if (wasOnTop) {
+            fill();
+        }
+    }
+
+    /**
+     * Fills the board with the best scores of every player.
+     */
+    private void fill() {
+        top.clear();
+        // Offer every score to the board.
+        for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+            offer(Map.entry(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Places a score on the board if it is good enough.
+     * @param entry name and score of a player.
+     */
+    private void offer(Map.Entry<String, Integer> entry) {
+        // Take the place of the lowest score when the board is full.
+        if (top.size() < size) {
+            top.add(entry);
+        } else if (ORDER.compare(entry, top.last()) < 0) {
+            top.add(entry);
+            top.pollLast();
+        }
+    }
+}
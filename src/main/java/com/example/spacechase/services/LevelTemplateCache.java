@@ -0,0 +1,51 @@
+package com.example.spacechase.services;
+
+import com.example.spacechase.utils.Data;
+import com.example.spacechase.utils.LevelTemplate;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The LevelTemplateCache class keeps a template of every fresh level
+ * that has been read, so a level can start over without reading and
+ * parsing its file again. A template is read again if its fresh level
+ * file has been modified since. The templates are shared by every
+ * profile.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+public class LevelTemplateCache {
+    /**
+     * Templates by the id of the level.
+     */
+    private final Map<Integer, LevelTemplate> templates =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Gets the template of a fresh level, reads it if it has not been
+     * read or its file has been modified.
+     * @param id id of the level.
+     * @return template of the level, null if there is no such level.
+     * @throws FileNotFoundException This exception is thrown
+     *                               when file is not found.
+     */
+    public LevelTemplate get(int id) throws FileNotFoundException {
+        File file = Data.getFreshLevelFile(id);
+        // There is no template of a level that does not exist.
+        if (!file.exists()) {
+            return null;
+        }
+
+        long lastModified = file.lastModified();
+        LevelTemplate template = templates.get(id);
+        // Read the level again if its file has been modified.
+        if (template == null || template.getLastModified() != lastModified) {
+            template = new LevelTemplate(Data.readLevel(file), lastModified);
+            templates.put(id, template);
+        }
+
+        return template;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.spacechase.services;
+
+import com.example.spacechase.models.Level;
+import com.example.spacechase.utils.Data;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The PersistenceService class handles writing the files of the game on
+ * a single background thread, so the game does not stall on a slow
+ * disk. Tasks are run one at a time in the order they are submitted,
+ * so the files of a profile are always written in order and a task that
+ * reads a file sees every write submitted before it. Every task returns
+ * a future that is completed once it has been run.
+ * @author Tristan Tsang
+ * @version 1.0.2
+ */
+public class PersistenceService {
+    /**
+     * Name of the thread that writes the files.
+     */
+    private static final String THREAD_NAME = "persistence";
+    /**
+     * Seconds to wait for the submitted tasks on closing.
+     */
+    private static final long CLOSE_TIMEOUT = 10;
+    /**
+     * Executor that runs the tasks on a single thread.
+     */
+    private final ExecutorService writer;
+
+    /**
+     * A task that reads or writes files and returns a result.
+     * @param <T> type of the result.
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        /**
+         * Runs the task.
+         * @return result of the task.
+         * @throws IOException if a file cannot be read or written.
+         */
+        T call() throws IOException;
+    }
+
+    /**
+     * A task that reads or writes files without a result.
+     */
+    @FunctionalInterface
+    public interface Action {
+        /**
+         * Runs the task.
+         * @throws IOException if a file cannot be read or written.
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * Creates a persistence service with its own thread. The thread does
+     * not keep the game running, pending tasks are finished by close.
+     */
+    public PersistenceService() {
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a task that returns a result.
+     * @param task task to be run.
+     * @param <T> type of the result.
+     * @return future that is completed with the result of the task.
+     */
+    public <T> CompletableFuture<T> submit(Task<T> task) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            /*
+             * Tries to run the task.
+             * Catches if a file cannot be read or written.
+             */
+            try {
+                return task.call();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writer);
+
+        // Warn about a task that has failed.
+        future.whenComplete((result, e) -> {
+            if (e != null) {
+                System.out.println("WARN: Persistence task failed, "
+                        + e.getMessage());
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Submits a task without a result.
+     * @param action task to be run.
+     * @return future that is completed once the task has been run.
+     */
+    public CompletableFuture<Void> execute(Action action) {
+        return submit(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Copies a fresh level into the profile of a player.
+     * @param id id of the level.
+     * @param name player name.
+     * @return future that is completed once the level has been copied.
+     */
+    public CompletableFuture<Void> copyLevel(int id, String name) {
+        return execute(() -> Data.copyLevel(id, name));
+    }
+
+    /**
+     * Reads a level after every write that was submitted before it.
+     * @param file level file.
+     * @return future that is completed with the level.
+     */
+    public CompletableFuture<Level> readLevel(File file) {
+        return submit(() -> Data.readLevel(file));
+    }
+
+    /**
+     * Waits for every task that has been submitted so far.
+     * @return future that is completed once the tasks have been run.
+     */
+    public CompletableFuture<Void> flush() {
+        return execute(() -> { });
+    }
+
+    /**
+     * Stops taking tasks and waits for the submitted tasks to finish.
+     */
+    public void close() {
+        writer.shutdown();
+        /*
+         * Tries to wait for the submitted tasks.
+         * Catches if the thread is interrupted while waiting.
+         */
+        try {
+            // Warn if the tasks have not finished in time.
+            if (!writer.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                System.out.println("WARN: Persistence tasks did not finish.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.spacechase.services;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * This class represents an animated sprite in a sprite atlas. A sprite
+ * contains the part of the atlas each of its frames is drawn from and
+ * how long each frame is shown for. The frames are played in a loop,
+ * so every sprite is animated by the same clock.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+public class Sprite {
+    /**
+     * Part of the atlas of each frame.
+     */
+    private final Rectangle2D[] frames;
+    /**
+     * Time in milliseconds from the start of the loop that each frame
+     * ends at.
+     */
+    private final long[] frameEnds;
+
+    /**
+     * Creates a sprite from its frames.
+     * @param frames part of the atlas of each frame.
+     * @param delays time in milliseconds each frame is shown for.
+     */
+    public Sprite(Rectangle2D[] frames, long[] delays) {
+        this.frames = frames;
+        this.frameEnds = new long[delays.length];
+
+        long end = 0;
+        // Add up the delays to find when each frame ends.
+        for (int i = 0; i < delays.length; i++) {
+            end += delays[i];
+            frameEnds[i] = end;
+        }
+    }
+
+    /**
+     * Gets the frame that is shown at a time. Frames that are the same
+     * are the same object, so a frame can be compared to the last one
+     * without looking at its bounds.
+     * @param millis time in milliseconds.
+     * @return part of the atlas of the frame.
+     */
+    public Rectangle2D getFrame(long millis) {
+        long time = millis % frameEnds[frameEnds.length - 1];
+        int i = 0;
+        // Find the first frame that has not ended yet.
+        while (frameEnds[i] <= time) {
+            i++;
+        }
+
+        return frames[i];
+    }
+
+    /**
+     * Gets the number of frames of the sprite.
+     * @return number of frames.
+     */
+    public int getFrameCount() {
+        return frames.length;
+    }
+}
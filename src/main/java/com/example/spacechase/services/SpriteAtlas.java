@@ -0,0 +1,594 @@
+package com.example.spacechase.services;
+
+import com.example.spacechase.utils.Data;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The SpriteAtlas class decodes every frame of the animated sprites once
+ * at the size of a tile and packs them into a single image. Image views
+ * show a sprite by drawing a part of the atlas, and the part is changed
+ * by a single animation clock instead of every sprite animating itself.
+ * Frames that are the same are only packed once, but few frames repeat,
+ * so the atlas takes about as many bytes as decoding each sprite on its
+ * own; what drops is the number of images and animations. The atlas is
+ * loaded on its own thread, and getting the image or a sprite waits
+ * until it has been loaded. A sprite that is not in the atlas, or every
+ * sprite if the atlas could not be loaded, is drawn with a placeholder
+ * frame.
+ * @author Tristan Tsang
+ * @version 1.0.2
+ */
+public class SpriteAtlas {
+    /**
+     * Format of the sprites.
+     */
+    private static final String FORMAT = "gif";
+    /**
+     * Format of the metadata of each frame.
+     */
+    private static final String FRAME_METADATA =
+            "javax_imageio_gif_image_1.0";
+    /**
+     * Format of the metadata of a sprite.
+     */
+    private static final String SPRITE_METADATA =
+            "javax_imageio_gif_stream_1.0";
+    /**
+     * Disposal of a frame that is cleared before the next frame.
+     */
+    private static final String RESTORE_TO_BACKGROUND =
+            "restoreToBackgroundColor";
+    /**
+     * Milliseconds in each unit of the delay of a frame.
+     */
+    private static final long DELAY_UNIT = 10;
+    /**
+     * Shortest time in milliseconds a frame is shown for.
+     */
+    private static final long MIN_DELAY = 20;
+    /**
+     * Transparent space between frames, so a frame is not drawn with
+     * the edge of the next.
+     */
+    private static final int PADDING = 1;
+    /**
+     * Longest side of the atlas, small enough to be a texture on every
+     * graphics card.
+     */
+    private static final int MAX_SIZE = 2048;
+    /**
+     * Bytes of each pixel of the atlas.
+     */
+    private static final int BYTES_PER_PIXEL = 4;
+    /**
+     * Bytes of a kibibyte.
+     */
+    private static final int BYTES_PER_KIB = 1024;
+    /**
+     * Percent of a ratio.
+     */
+    private static final double PERCENT = 100;
+    /**
+     * Colour of the placeholder frame, a see-through magenta.
+     */
+    private static final int PLACEHOLDER_COLOUR = 0x80FF00FF;
+    /**
+     * Height of the placeholder frame before the atlas is loaded.
+     */
+    private static final int PLACEHOLDER_SIZE = 50;
+    /**
+     * Name of the thread the atlas is loaded on.
+     */
+    private static final String THREAD_NAME = "sprite-atlas";
+    /**
+     * Sprites by their path.
+     */
+    private final HashMap<String, Sprite> sprites = new HashMap<>();
+    /**
+     * Number of frames of every sprite.
+     */
+    private int frameCount;
+    /**
+     * Image every sprite is drawn from.
+     */
+    private WritableImage image;
+    /**
+     * Sprite drawn for a path that is not in the atlas.
+     */
+    private Sprite placeholder;
+    /**
+     * Loading of the atlas, null if it has not been started.
+     */
+    private volatile CompletableFuture<Void> loading;
+    /**
+     * Number of times a sprite was found in the atlas.
+     */
+    private long hits;
+    /**
+     * Number of times the placeholder was drawn instead of a sprite.
+     */
+    private long misses;
+
+    /**
+     * Creates an atlas that only has the placeholder frame.
+     */
+    public SpriteAtlas() {
+        loadPlaceholder(PLACEHOLDER_SIZE);
+    }
+
+    /**
+     * Starts loading the atlas on its own thread, so it does not wait
+     * behind the files being written. If a sprite cannot be read, only
+     * the placeholder is kept.
+     * @param paths url paths of the sprites.
+     * @param height height to decode the sprites at.
+     * @return future that is completed once the atlas has been loaded.
+     */
+    public CompletableFuture<Void> loadInBackground(Collection<String> paths,
+                                                    double height) {
+        loading = CompletableFuture.runAsync(() -> {
+            /*
+             * Tries to load the atlas.
+             * Catches if a sprite cannot be read.
+             */
+            try {
+                load(paths, height);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            thread.start();
+        }).exceptionally(e -> {
+            System.out.println("WARN: Sprite atlas failed to load, "
+                    + e.getMessage());
+            loadPlaceholder((int) Math.round(height));
+            return null;
+        });
+
+        return loading;
+    }
+
+    /**
+     * Decodes the frames of every sprite at a height and packs them into
+     * the atlas.
+     * @param paths url paths of the sprites.
+     * @param height height to decode the sprites at.
+     * @throws IOException This exception is thrown when a sprite
+     *                     cannot be read.
+     */
+    public synchronized void load(Collection<String> paths, double height)
+            throws IOException {
+        int rows = (int) Math.round(height);
+        List<BufferedImage> packed = new ArrayList<>();
+        HashMap<IntBuffer, Integer> packedIndices = new HashMap<>();
+        HashMap<String, int[]> spriteFrames = new HashMap<>();
+        HashMap<String, long[]> spriteDelays = new HashMap<>();
+        frameCount = 0;
+        packed.add(createPlaceholder(rows));
+
+        // Decode every sprite and keep each different frame once.
+        for (String path : paths) {
+            List<BufferedImage> frames = new ArrayList<>();
+            long[] delays = readFrames(path, rows, frames);
+            int[] indices = new int[frames.size()];
+
+            // Find the packed frame of each frame, pack it if it is new.
+            for (int i = 0; i < frames.size(); i++) {
+                BufferedImage frame = frames.get(i);
+                IntBuffer pixels = IntBuffer.wrap(frame.getRGB(0, 0,
+                        frame.getWidth(), frame.getHeight(),
+                        null, 0, frame.getWidth()));
+                indices[i] = packedIndices.computeIfAbsent(pixels,
+                        key -> {
+                            packed.add(frame);
+                            return packed.size() - 1;
+                        });
+            }
+
+            frameCount += frames.size();
+            spriteFrames.put(path, indices);
+            spriteDelays.put(path, delays);
+        }
+
+        Rectangle2D[] bounds = pack(packed, rows);
+        placeholder = createSprite(bounds[0]);
+        sprites.clear();
+        // Create each sprite from the bounds of its frames.
+        for (String path : paths) {
+            int[] indices = spriteFrames.get(path);
+            Rectangle2D[] frames = new Rectangle2D[indices.length];
+            // Find the bounds of each frame.
+            for (int i = 0; i < indices.length; i++) {
+                frames[i] = bounds[indices[i]];
+            }
+
+            sprites.put(path, new Sprite(frames, spriteDelays.get(path)));
+        }
+    }
+
+    /**
+     * Gets the image every sprite is drawn from, waits for the atlas if
+     * it is being loaded.
+     * @return image of the atlas.
+     */
+    public Image getImage() {
+        awaitLoading();
+        synchronized (this) {
+            return image;
+        }
+    }
+
+    /**
+     * Gets a sprite of the atlas, waits for the atlas if it is being
+     * loaded.
+     * @param path url path of the sprite.
+     * @return sprite, the placeholder if it is not in the atlas.
+     */
+    public Sprite getSprite(String path) {
+        awaitLoading();
+        synchronized (this) {
+            Sprite sprite = sprites.get(path);
+            // Draw the placeholder if the sprite is not in the atlas.
+            if (sprite == null) {
+                misses++;
+                return placeholder;
+            }
+
+            hits++;
+            return sprite;
+        }
+    }
+
+    /**
+     * Gets the ratio of sprites that were found in the atlas.
+     * @return hit rate between 0 and 1, 0 if no sprite was asked for.
+     */
+    public synchronized double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /**
+     * Gets the memory used by the image of the atlas.
+     * @return bytes of the pixels of the atlas.
+     */
+    public synchronized long getMemoryUsed() {
+        // An atlas that has not been loaded has no pixels.
+        if (image == null) {
+            return 0;
+        }
+
+        return (long) image.getWidth() * (long) image.getHeight()
+                * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Describes the size of the atlas.
+     * @return description of the atlas.
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("%d sprites, %d frames, %d KiB, %.1f%% hits",
+                sprites.size(), frameCount,
+                getMemoryUsed() / BYTES_PER_KIB, getHitRate() * PERCENT);
+    }
+
+    /**
+     * Waits until the atlas has been loaded if it is being loaded.
+     */
+    private void awaitLoading() {
+        CompletableFuture<Void> future = loading;
+        // Only wait if the atlas has been started loading.
+        if (future != null) {
+            future.join();
+        }
+    }
+
+    /**
+     * Replaces the atlas with one that only has the placeholder frame.
+     * @param rows height of the placeholder frame.
+     */
+    private synchronized void loadPlaceholder(int rows) {
+        sprites.clear();
+        frameCount = 0;
+        placeholder = createSprite(
+                pack(List.of(createPlaceholder(rows)), rows)[0]);
+    }
+
+    /**
+     * Creates the placeholder frame, a square filled with one colour.
+     * @param rows side of the square.
+     * @return placeholder frame.
+     */
+    private static BufferedImage createPlaceholder(int rows) {
+        BufferedImage frame = new BufferedImage(rows, rows,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = frame.createGraphics();
+        graphics.setColor(new Color(PLACEHOLDER_COLOUR, true));
+        graphics.fillRect(0, 0, rows, rows);
+        graphics.dispose();
+
+        return frame;
+    }
+
+    /**
+     * Creates a sprite that only shows one frame.
+     * @param frame part of the atlas of the frame.
+     * @return sprite of the frame.
+     */
+    private static Sprite createSprite(Rectangle2D frame) {
+        return new Sprite(new Rectangle2D[] {frame}, new long[] {MIN_DELAY});
+    }
+
+    /**
+     * Reads every frame of a sprite and scales it to a height. Each frame
+     * is drawn over the frames before it, which are cleared first if
+     * they are to be restored to the background.
+     * @param path url path of the sprite.
+     * @param rows height to scale the frames to.
+     * @param frames list the scaled frames are added to.
+     * @return time in milliseconds each frame is shown for.
+     * @throws IOException This exception is thrown when the sprite
+     *                     cannot be read.
+     */
+    private static long[] readFrames(String path, int rows,
+                                     List<BufferedImage> frames)
+            throws IOException {
+        URL url = Data.getUrl(path);
+        // A sprite that is not a resource cannot be read.
+        if (url == null) {
+            throw new FileNotFoundException(path);
+        }
+
+        ImageReader reader = ImageIO.getImageReadersByFormatName(FORMAT)
+                .next();
+        try (InputStream stream = url.openStream();
+             ImageInputStream input = ImageIO.createImageInputStream(stream)) {
+            reader.setInput(input);
+            int count = reader.getNumImages(true);
+            long[] delays = new long[count];
+            Element screen = getElement((IIOMetadataNode) reader
+                    .getStreamMetadata().getAsTree(SPRITE_METADATA),
+                    "LogicalScreenDescriptor");
+            BufferedImage canvas = new BufferedImage(
+                    getInt(screen, "logicalScreenWidth"),
+                    getInt(screen, "logicalScreenHeight"),
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = canvas.createGraphics();
+            int columns = (int) Math.round((double) canvas.getWidth()
+                    * rows / canvas.getHeight());
+
+            // Draw each frame onto the canvas and keep a scaled copy.
+            for (int i = 0; i < count; i++) {
+                IIOMetadataNode metadata = (IIOMetadataNode) reader
+                        .getImageMetadata(i).getAsTree(FRAME_METADATA);
+                Element descriptor = getElement(metadata,
+                        "ImageDescriptor");
+                Element control = getElement(metadata,
+                        "GraphicControlExtension");
+                BufferedImage frame = reader.read(i);
+                int x = getInt(descriptor, "imageLeftPosition");
+                int y = getInt(descriptor, "imageTopPosition");
+                graphics.drawImage(frame, x, y, null);
+                frames.add(scale(canvas, columns, rows));
+
+                delays[i] = MIN_DELAY;
+                // Frames without a control extension use the least delay.
+                if (control != null) {
+                    delays[i] = Math.max(MIN_DELAY,
+                            getInt(control, "delayTime") * DELAY_UNIT);
+
+                    // Clear the frame before the next one if it has to.
+                    if (RESTORE_TO_BACKGROUND.equals(
+                            control.getAttribute("disposalMethod"))) {
+                        graphics.setComposite(AlphaComposite.Clear);
+                        graphics.fillRect(x, y,
+                                frame.getWidth(), frame.getHeight());
+                        graphics.setComposite(AlphaComposite.SrcOver);
+                    }
+                }
+            }
+
+            graphics.dispose();
+            return delays;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Packs frames into rows of the atlas and creates its image. Every
+     * width of a row that fits is tried, and the one that leaves the
+     * least empty space without the atlas getting too tall is kept.
+     * @param frames frames to be packed.
+     * @param rows height of each frame.
+     * @return bounds of each frame in the atlas.
+     */
+    private Rectangle2D[] pack(List<BufferedImage> frames, int rows) {
+        int slotWidth = PADDING;
+        // Find the space taken by the widest frame.
+        for (BufferedImage frame : frames) {
+            slotWidth = Math.max(slotWidth, frame.getWidth() + PADDING);
+        }
+
+        Rectangle2D[] bounds = place(frames, rows, slotWidth);
+        long area = getArea(bounds);
+        // Try every number of frames in a row until a row is too wide.
+        for (int columns = 2; columns <= frames.size()
+                && columns * slotWidth <= MAX_SIZE; columns++) {
+            Rectangle2D[] placed = place(frames, rows, columns * slotWidth);
+            long placedArea = getArea(placed);
+            /* Keep the atlas with the least empty space, or the wider
+             one while none of them fits. */
+            if (placedArea < area || area == Long.MAX_VALUE) {
+                bounds = placed;
+                area = placedArea;
+            }
+        }
+
+        BufferedImage atlas = new BufferedImage(
+                Math.max(1, (int) getMaxX(bounds)),
+                Math.max(1, (int) getMaxY(bounds)),
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = atlas.createGraphics();
+        // Draw each frame at its place in the atlas.
+        for (int i = 0; i < frames.size(); i++) {
+            graphics.drawImage(frames.get(i), (int) bounds[i].getMinX(),
+                    (int) bounds[i].getMinY(), null);
+        }
+
+        graphics.dispose();
+
+        image = new WritableImage(atlas.getWidth(), atlas.getHeight());
+        image.getPixelWriter().setPixels(0, 0,
+                atlas.getWidth(), atlas.getHeight(),
+                PixelFormat.getIntArgbInstance(),
+                atlas.getRGB(0, 0, atlas.getWidth(), atlas.getHeight(),
+                        null, 0, atlas.getWidth()),
+                0, atlas.getWidth());
+        return bounds;
+    }
+
+    /**
+     * Places frames in rows of a width, one after another.
+     * @param frames frames to be placed.
+     * @param rows height of each frame.
+     * @param maxWidth width of a row.
+     * @return bounds of each frame.
+     */
+    private static Rectangle2D[] place(List<BufferedImage> frames,
+                                       int rows, int maxWidth) {
+        Rectangle2D[] bounds = new Rectangle2D[frames.size()];
+        int x = 0;
+        int y = 0;
+        // Place each frame after the last, start a new row when full.
+        for (int i = 0; i < frames.size(); i++) {
+            int frameWidth = frames.get(i).getWidth();
+            // Start a new row if the frame does not fit in this one.
+            if (x > 0 && x + frameWidth > maxWidth) {
+                x = 0;
+                y += rows + PADDING;
+            }
+
+            bounds[i] = new Rectangle2D(x, y, frameWidth, rows);
+            x += frameWidth + PADDING;
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Gets the area of an atlas that fits every frame.
+     * @param bounds bounds of each frame.
+     * @return area in pixels, the largest long if the atlas is taller
+     *         than a texture can be.
+     */
+    private static long getArea(Rectangle2D[] bounds) {
+        // An atlas that is too tall cannot be used.
+        if (getMaxY(bounds) > MAX_SIZE) {
+            return Long.MAX_VALUE;
+        }
+
+        return (long) getMaxX(bounds) * (long) getMaxY(bounds);
+    }
+
+    /**
+     * Gets the right edge of the frame that reaches furthest right.
+     * @param bounds bounds of each frame.
+     * @return right edge of the frames.
+     */
+    private static double getMaxX(Rectangle2D[] bounds) {
+        double maxX = 0;
+        // Find the furthest right edge.
+        for (Rectangle2D frame : bounds) {
+            maxX = Math.max(maxX, frame.getMaxX());
+        }
+
+        return maxX;
+    }
+
+    /**
+     * Gets the bottom edge of the frame that reaches lowest.
+     * @param bounds bounds of each frame.
+     * @return bottom edge of the frames.
+     */
+    private static double getMaxY(Rectangle2D[] bounds) {
+        double maxY = 0;
+        // Find the lowest bottom edge.
+        for (Rectangle2D frame : bounds) {
+            maxY = Math.max(maxY, frame.getMaxY());
+        }
+
+        return maxY;
+    }
+
+    /**
+     * Scales an image to a size.
+     * @param source image to be scaled.
+     * @param width width of the scaled image.
+     * @param height height of the scaled image.
+     * @return scaled copy of the image.
+     */
+    private static BufferedImage scale(BufferedImage source,
+                                       int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+
+        return scaled;
+    }
+
+    /**
+     * Gets the first element of metadata with a name.
+     * @param metadata metadata of a sprite or frame.
+     * @param name name of the element.
+     * @return element, null if there is none.
+     */
+    private static Element getElement(IIOMetadataNode metadata,
+                                      String name) {
+        NodeList elements = metadata.getElementsByTagName(name);
+        return elements.getLength() == 0
+                ? null : (Element) elements.item(0);
+    }
+
+    /**
+     * Gets an attribute of an element as a number.
+     * @param element element of the metadata.
+     * @param name name of the attribute.
+     * @return value of the attribute.
+     */
+    private static int getInt(Element element, String name) {
+        return Integer.parseInt(element.getAttribute(name));
+    }
+}
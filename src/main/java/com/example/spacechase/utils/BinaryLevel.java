@@ -0,0 +1,460 @@
+package com.example.spacechase.utils;
+
+import com.example.spacechase.models.Level;
+import com.example.spacechase.models.characters.Character;
+import com.example.spacechase.models.items.Item;
+import com.example.spacechase.models.items.Note;
+import com.example.spacechase.models.level.LevelHeader;
+import com.example.spacechase.models.level.Tile;
+import com.example.spacechase.models.level.TileColour;
+import com.example.spacechase.models.level.TileGrid;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * BinaryLevel interface handles the binary level format. A binary level
+ * is read through a read-only memory-mapped buffer instead of being
+ * parsed as text. It contains, in order:
+ * <ul>
+ *     <li>a header of magic number, version, width, height, time
+ *     and score,</li>
+ *     <li>a colour plane with a short for each tile, holding the number
+ *     of colours and the palette index of each colour in order,</li>
+ *     <li>an entity plane with the number of entities on each tile,
+ *     followed by the type of every entity in tile order,</li>
+ *     <li>a note table with the UTF-8 message of each note.</li>
+ * </ul>
+ * @author Tristan Tsang
+ * @version 1.0.3
+ */
+public interface BinaryLevel {
+    /**
+     * Extension of binary level files.
+     */
+    String EXTENSION = ".lvl";
+    /**
+     * Extension of text level files.
+     */
+    String TEXT_EXTENSION = ".txt";
+    /**
+     * Number at the start of every binary level, "SCLV" in ASCII.
+     */
+    int MAGIC = 0x53434C56;
+    /**
+     * Version of the binary level format.
+     */
+    byte VERSION = 1;
+    /**
+     * Number of bits of each palette index in the colour plane.
+     */
+    int COLOUR_BITS = 3;
+    /**
+     * Mask of a palette index in the colour plane.
+     */
+    int COLOUR_MASK = (1 << COLOUR_BITS) - 1;
+    /**
+     * Position of the number of colours in the colour plane.
+     */
+    int COUNT_SHIFT = COLOUR_BITS * TileGrid.MAX_COLOURS;
+    /**
+     * Mask that turns a short into an unsigned value.
+     */
+    int SHORT_MASK = 0xFFFF;
+    /**
+     * Mask that turns a byte into an unsigned value.
+     */
+    int BYTE_MASK = 0xFF;
+    /**
+     * Size of the header in bytes.
+     */
+    int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Integer.BYTES
+            + Integer.BYTES + Double.BYTES + Integer.BYTES;
+
+    /**
+     * Checks whether a file is a binary level by its extension.
+     * @param file level file.
+     * @return file is a binary level or not.
+     */
+    static boolean isBinary(File file) {
+        return file.getName().endsWith(EXTENSION);
+    }
+
+    /**
+     * Reads a binary level file and returns a level object.
+     * @param file binary level file.
+     * @return Level object.
+     * @throws FileNotFoundException This exception is thrown
+     *                               when file is not found.
+     * @throws LevelFormatException This exception is thrown when
+     *                              the file is not a binary level.
+     */
+    static Level read(File file) throws FileNotFoundException {
+        MappedByteBuffer buffer;
+        /*
+         * Tries to map the file into memory.
+         * Catches if the file cannot be opened.
+         */
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+        } catch (IOException e) {
+            FileNotFoundException notFound =
+                    new FileNotFoundException(file.getPath());
+            notFound.initCause(e);
+            throw notFound;
+        }
+
+        /*
+         * Tries to read the level from the buffer.
+         * Catches if the file ends before the level does.
+         */
+        try {
+            return read(file, buffer);
+        } catch (BufferUnderflowException e) {
+            throw error(buffer, "Unexpected end of the file");
+        }
+    }
+
+    /**
+     * Reads only the header of a binary level file, without the map.
+     * @param file binary level file.
+     * @return header of the level.
+     * @throws FileNotFoundException This exception is thrown
+     *                               when file is not found.
+     * @throws LevelFormatException This exception is thrown when
+     *                              the file is not a binary level.
+     */
+    static LevelHeader readHeader(File file) throws FileNotFoundException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        /*
+         * Tries to read the bytes of the header.
+         * Catches if the file cannot be opened.
+         */
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            int read = 0;
+            // Keep reading until the header is full or the file ends.
+            while (buffer.hasRemaining() && read >= 0) {
+                read = channel.read(buffer);
+            }
+        } catch (IOException e) {
+            FileNotFoundException notFound =
+                    new FileNotFoundException(file.getPath());
+            notFound.initCause(e);
+            throw notFound;
+        }
+
+        buffer.flip();
+        /*
+         * Tries to read the header from the buffer.
+         * Catches if the file ends before the header does.
+         */
+        try {
+            return readHeader(file, buffer);
+        } catch (BufferUnderflowException e) {
+            throw error(buffer, "Unexpected end of the file");
+        }
+    }
+
+    /**
+     * Reads the header from a buffer of a binary level file.
+     * @param file binary level file.
+     * @param buffer buffer of the file.
+     * @return header of the level.
+     */
+    private static LevelHeader readHeader(File file, ByteBuffer buffer) {
+        // Every binary level starts with the magic number.
+        if (buffer.getInt() != MAGIC) {
+            throw error(buffer, "Not a binary level");
+        }
+
+        byte version = buffer.get();
+        // Only the current version can be read.
+        if (version != VERSION) {
+            throw error(buffer, "Unsupported version " + version);
+        }
+
+        final int width = buffer.getInt();
+        final int height = buffer.getInt();
+        final double time = buffer.getDouble();
+        final int score = buffer.getInt();
+        // The map must have at least one tile.
+        if (width <= 0 || height <= 0) {
+            throw error(buffer, String.format(
+                    "Invalid size %dx%d", width, height));
+        }
+
+        return new LevelHeader(Data.getLevelId(file), file, width, height,
+                time, score);
+    }
+
+    /**
+     * Reads a level from a buffer of a binary level file.
+     * @param file binary level file.
+     * @param buffer buffer of the file.
+     * @return Level object.
+     */
+    private static Level read(File file, ByteBuffer buffer) {
+        LevelHeader header = readHeader(file, buffer);
+        final int width = header.getWidth();
+        final int height = header.getHeight();
+
+        TileGrid grid = new TileGrid(width, height);
+        Level level = new Level(header.getId(), file, header.getTime(),
+                header.getScore(), grid);
+        int size = width * height;
+        TileColour[] palette = TileColour.values();
+        char[] colours = new char[TileGrid.MAX_COLOURS];
+        // Read the colours of every tile from the colour plane.
+        for (int i = 0; i < size; i++) {
+            int packed = buffer.getShort() & SHORT_MASK;
+            int count = packed >>> COUNT_SHIFT;
+            // A tile cannot have more colours than the grid can keep.
+            if (count > TileGrid.MAX_COLOURS) {
+                throw error(buffer, "Invalid number of colours " + count);
+            }
+
+            // Turn each palette index back into its colour.
+            for (int c = 0; c < count; c++) {
+                int colour = (packed >>> (c * COLOUR_BITS)) & COLOUR_MASK;
+                // The palette index must be a colour of the palette.
+                if (colour >= palette.length) {
+                    throw error(buffer, "Invalid colour " + colour);
+                }
+
+                colours[c] = palette[colour].getId();
+            }
+
+            grid.setColours(i, new String(colours, 0, count));
+        }
+
+        byte[] entityCounts = new byte[size];
+        buffer.get(entityCounts);
+        int entityTotal = buffer.getInt();
+        // Put every entity of the entity plane on its tile.
+        for (int i = 0, read = 0; i < size; i++) {
+            Tile tile = grid.getTile(i);
+            // Add each entity of the tile in order.
+            for (int e = 0; e < (entityCounts[i] & BYTE_MASK);
+                 e++, read++) {
+                // There cannot be more entities than the table holds.
+                if (read == entityTotal) {
+                    throw error(buffer, "Too many entities");
+                }
+
+                Data.addEntity(level, tile, buffer.getChar());
+            }
+        }
+
+        level.linkTiles();
+
+        List<Note> notes = level.getItems(Note.class);
+        int noteCount = buffer.getInt();
+        // Set the message of each note from the note table.
+        for (int i = 0; i < noteCount; i++) {
+            byte[] message = new byte[buffer.getInt()];
+            buffer.get(message);
+
+            // Only notes that exist in the level have a message.
+            if (i < notes.size()) {
+                notes.get(i).setMessage(
+                        new String(message, StandardCharsets.UTF_8));
+            }
+        }
+
+        // Notes without a message in the table have an empty message.
+        for (int i = noteCount; i < notes.size(); i++) {
+            notes.get(i).setMessage("");
+        }
+
+        return level;
+    }
+
+    /**
+     * Writes a level to a binary level file.
+     * @param level level to be written.
+     * @param file binary level file.
+     * @throws UncheckedIOException if the file cannot be written.
+     * @throws IllegalArgumentException if a colour of the level is not
+     *                                  in the palette.
+     */
+    static void write(Level level, File file) {
+        /* Try to replace the file with the level.
+         Catch if there is an I/O exception on writing file. */
+        try {
+            Data.writeFile(file, toBytes(level));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the content of the binary level file of a level.
+     * @param level level to be written.
+     * @return content of the binary level file.
+     * @throws IllegalArgumentException if a colour of the level is not
+     *                                  in the palette.
+     */
+    static byte[] toBytes(Level level) {
+        TileGrid grid = level.getGrid();
+        int size = grid.getWidth() * grid.getHeight();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        /* Try to write the level to the bytes.
+         Catch if there is an I/O exception on writing the bytes. */
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(grid.getWidth());
+            out.writeInt(grid.getHeight());
+            out.writeDouble(level.getTime());
+            out.writeInt(level.getScore());
+
+            // Write the colours of every tile to the colour plane.
+            for (int i = 0; i < size; i++) {
+                out.writeShort(packColours(grid, i));
+            }
+
+            StringBuilder entities = new StringBuilder();
+            // Write the number of entities of every tile.
+            for (int i = 0; i < size; i++) {
+                Tile tile = grid.getTile(i);
+                Character character = tile.getCharacter();
+                Item item = tile.getItem();
+                int count = 0;
+
+                // The character comes before the item, as in text.
+                if (character != null) {
+                    entities.append(character.getId());
+                    count++;
+                }
+
+                // Add the item of the tile if there is one.
+                if (item != null) {
+                    entities.append(item.getId());
+                    count++;
+                }
+
+                out.writeByte(count);
+            }
+
+            out.writeInt(entities.length());
+            out.writeChars(entities.toString());
+
+            List<Note> notes = level.getItems(Note.class);
+            out.writeInt(notes.size());
+            // Write the message of every note.
+            for (Note note : notes) {
+                String message = note.getMessage() == null
+                        ? "" : note.getMessage();
+                byte[] encoded = message.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Packs the colours of a tile into a short of the colour plane.
+     * @param grid grid of the tile.
+     * @param index index of the tile.
+     * @return colours of the tile in the colour plane.
+     * @throws IllegalArgumentException if a colour is not in the palette.
+     */
+    private static int packColours(TileGrid grid, int index) {
+        int count = grid.getColourCount(index);
+        int packed = count << COUNT_SHIFT;
+        // Add the palette index of each colour of the tile.
+        for (int c = 0; c < count; c++) {
+            char id = grid.getColour(index, c);
+            TileColour colour = TileColour.fromId(id);
+            // Only colours of the palette can be written.
+            if (colour == null) {
+                throw new IllegalArgumentException(
+                        "Colour is not in the palette: " + id);
+            }
+
+            packed |= colour.ordinal() << (c * COLOUR_BITS);
+        }
+
+        return packed;
+    }
+
+    /**
+     * Converts a text level file to a binary level file.
+     * @param text text level file.
+     * @param binary binary level file to be written.
+     * @throws FileNotFoundException This exception is thrown
+     *                               when text file is not found.
+     */
+    static void toBinary(File text, File binary)
+            throws FileNotFoundException {
+        write(Data.readLevel(text), binary);
+    }
+
+    /**
+     * Converts a binary level file to a text level file, in the same
+     * format as levels are saved in.
+     * @param binary binary level file.
+     * @param text text level file to be written.
+     * @throws IOException This exception is thrown when the binary
+     *                     file is not found or the text file cannot
+     *                     be written.
+     */
+    static void toText(File binary, File text) throws IOException {
+        Level level = read(binary);
+        Data.writeFile(text,
+                level.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts level files between the text and binary formats, so that
+     * the bundled levels can be shipped as binary levels. Each file is
+     * written next to itself in the other format, which is then read
+     * over a text level with the same id.
+     * @param args paths of the level files to be converted.
+     * @throws IOException This exception is thrown when a level file
+     *                     cannot be read or written.
+     */
+    static void main(String[] args) throws IOException {
+        // Convert each level file into the other format.
+        for (String path : args) {
+            File input = new File(path);
+            File output = Data.getOtherFormatFile(input);
+
+            // Write a text level for a binary level and the other way.
+            if (isBinary(input)) {
+                toText(input, output);
+            } else {
+                toBinary(input, output);
+            }
+
+            System.out.println(input + " -> " + output);
+        }
+    }
+
+    /**
+     * Creates an error at the current position of a buffer.
+     * @param buffer buffer of the file.
+     * @param message description of the error.
+     * @return exception to be thrown.
+     */
+    private static LevelFormatException error(ByteBuffer buffer,
+                                              String message) {
+        return new LevelFormatException(String.format(
+                "Byte %d: %s", buffer.position(), message));
+    }
+}
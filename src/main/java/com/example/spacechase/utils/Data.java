@@ -6,29 +6,36 @@ import com.example.spacechase.models.characters.Character;
 import com.example.spacechase.models.items.*;
 import com.example.spacechase.models.level.Entity;
 import com.example.spacechase.models.Level;
+import com.example.spacechase.models.level.LevelHeader;
 import com.example.spacechase.models.level.Tile;
+import com.example.spacechase.models.level.TileGrid;
 import org.json.simple.JSONObject;
 import org.json.simple.JSONValue;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import java.io.*;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.function.IntConsumer;
 
 /**
  * Data interface handles game file loading.
  * @author Tristan Tsang
  * @author Daniel Halsall
  * @author Alex Hallsworth
- * @version 1.0.2
+ * @version 1.0.14
  */
 public interface Data {
-    /**
-     * Format of tile data.
-     */
-    String DATA_FORMAT = "[A-Z]{1,4}(.)+";
     /**
      * Name of directory that contains all data of the game.
      */
@@ -57,6 +64,11 @@ public interface Data {
      * Fixed length for each tile data.
      */
     int DATA_LENGTH = 4;
+    /**
+     * Extension of the temporary files that are written before they
+     * are moved onto the files they replace.
+     */
+    String TEMP_EXTENSION = ".tmp";
 
     /**
      * Gets the url object from a path.
@@ -121,65 +133,181 @@ public interface Data {
     }
 
     /**
-     * Reads the level file and returns a level object.
+     * Reads the level file and returns a level object. The level is
+     * read as binary if the file has the binary level extension,
+     * otherwise it is read as text. The changes in the journal of the
+     * level are then replayed on it.
      * @param file level file.
      * @return Level object.
      * @throws FileNotFoundException This exception is thrown
      *                               when file is not found.
+     * @throws LevelFormatException This exception is thrown when
+     *                              the file is not a level.
      */
     static Level readLevel(File file) throws FileNotFoundException {
-        Scanner scan = new Scanner(file);
+        // Read the level as binary if it has the binary extension.
+        Level level = BinaryLevel.isBinary(file)
+                ? BinaryLevel.read(file) : readTextLevel(file);
+        LevelJournal.replay(level);
+        return level;
+    }
 
-        String name = file.getName();
-        final int id = Integer.parseInt(name
-                .replaceAll("[^0-9]", ""));
+    /**
+     * Reads only the header of a level file, without its map. The time
+     * and score in the journal of the level are applied to it.
+     * @param file level file.
+     * @return header of the level.
+     * @throws FileNotFoundException This exception is thrown
+     *                               when file is not found.
+     * @throws LevelFormatException This exception is thrown when
+     *                              the file is not a level.
+     */
+    static LevelHeader readLevelHeader(File file)
+            throws FileNotFoundException {
+        LevelHeader header;
+        // Read the header as binary if it has the binary extension.
+        if (BinaryLevel.isBinary(file)) {
+            header = BinaryLevel.readHeader(file);
+        } else {
+            // Closes the file once the header has been read.
+            try (LevelTokenizer tokens = openTextLevel(file)) {
+                header = readLevelHeader(file, tokens);
+            }
+        }
 
-        final int width = scan.nextInt();
-        final int height = scan.nextInt();
-        final double time = scan.nextDouble();
-        final int score = scan.nextInt();
+        LevelJournal.replay(header);
+        return header;
+    }
 
-        Tile[][] tileMap = new Tile[height][width];
-        Level level = new Level(id, file, time, score, tileMap);
+    /**
+     * Reads a text level file and returns a level object.
+     * @param file text level file.
+     * @return Level object.
+     * @throws FileNotFoundException This exception is thrown
+     *                               when file is not found.
+     */
+    private static Level readTextLevel(File file)
+            throws FileNotFoundException {
+        // Reads the level and closes the file once it has been read.
+        try (LevelTokenizer tokens = openTextLevel(file)) {
+            return readLevel(file, tokens);
+        }
+    }
+
+    /**
+     * Opens a text level file to be read token by token.
+     * @param file text level file.
+     * @return tokens of the level file.
+     * @throws FileNotFoundException This exception is thrown
+     *                               when file is not found.
+     */
+    private static LevelTokenizer openTextLevel(File file)
+            throws FileNotFoundException {
+        /*
+         * Tries to open the file.
+         * Catches if the file cannot be opened.
+         */
+        try {
+            return new LevelTokenizer(FileChannel.open(file.toPath()));
+        } catch (IOException e) {
+            FileNotFoundException notFound =
+                    new FileNotFoundException(file.getPath());
+            notFound.initCause(e);
+            throw notFound;
+        }
+    }
+
+    /**
+     * Gets the file of the fresh copy of a level, which is copied into
+     * a profile when the level starts over.
+     * @param id id of the level.
+     * @return fresh level file.
+     */
+    static File getFreshLevelFile(int id) {
+        return getLevelFile(getFileFromPath(LEVELS_PATH), id);
+    }
+
+    /**
+     * Gets the file of a level in a directory. A binary level is used
+     * over a text level with the same id, as it is faster to read.
+     * @param directory directory of the level.
+     * @param id id of the level.
+     * @return level file, the text level file if neither exists.
+     */
+    static File getLevelFile(File directory, int id) {
+        File binary = new File(directory, id + BinaryLevel.EXTENSION);
+        // Use the binary level if there is one.
+        if (binary.exists()) {
+            return binary;
+        }
+
+        return new File(directory, id + BinaryLevel.TEXT_EXTENSION);
+    }
+
+    /**
+     * Gets the file of a level with the same id in the other format,
+     * text for a binary level and binary for a text level.
+     * @param file level file.
+     * @return level file in the other format.
+     */
+    static File getOtherFormatFile(File file) {
+        String extension = BinaryLevel.isBinary(file)
+                ? BinaryLevel.TEXT_EXTENSION : BinaryLevel.EXTENSION;
+        return new File(file.getAbsoluteFile().getParentFile(),
+                getLevelId(file) + extension);
+    }
+
+    /**
+     * Gets the id of a level from the digits in the name of its file.
+     * @param file level file.
+     * @return id of the level.
+     */
+    static int getLevelId(File file) {
+        return Integer.parseInt(file.getName().replaceAll("[^0-9]", ""));
+    }
+
+    /**
+     * Reads a level from the tokens of a level file.
+     * @param file level file.
+     * @param tokens tokens of the level file.
+     * @return Level object.
+     * @throws LevelFormatException This exception is thrown when
+     *                              the file is not a level.
+     */
+    private static Level readLevel(File file, LevelTokenizer tokens) {
+        LevelHeader header = readLevelHeader(file, tokens);
+        final int width = header.getWidth();
+        final int height = header.getHeight();
+
+        TileGrid grid = new TileGrid(width, height);
+        Level level = new Level(header.getId(), file, header.getTime(),
+                header.getScore(), grid);
 
         int x = 0;
         int y = 0;
         boolean isLastTile = false;
+        String tileData = tokens.next();
 
         // While the current tile is not the last tile, keep reading tiles.
-        while (scan.hasNext() && !isLastTile) {
-            String tileData = scan.next();
-
-            /* If the tile data string has the correct length,
+        while (tileData != null && !isLastTile) {
+            /* If the tile data string has the correct format,
              create a tile and assign it to corresponding position
              to the 2D tile map array. */
-            if (tileData.matches(DATA_FORMAT)) {
+            if (isTileData(tileData)) {
+                // Every tile must have all its colours.
+                if (tileData.length() < DATA_LENGTH) {
+                    throw tokens.error(String.format(
+                            "Expected %d colours but found \"%s\"",
+                            DATA_LENGTH, tileData));
+                }
+
                 String colours = tileData.substring(0, DATA_LENGTH);
-                Tile tile = tileMap[y][x] = new Tile(x, y, colours);
+                Tile tile = grid.getTileMap()[y][x];
+                grid.setColours(tile.getIndex(), colours);
 
-                char[] entityTypes = tileData.substring(DATA_LENGTH)
-                        .toCharArray();
                 // For each entity in entity types in tile data.
-                for (char entityType : entityTypes) {
-                    Entity entity = createEntity(entityType);
-                    if (entity != null) {
-                        entity.setTile(tile);
-                        entity.setLevel(level);
-                        entity.createImageView();
-
-                        /*
-                         * Sets entity to tile's character if it is
-                         * a character. Otherwise, sets entity to
-                         * tile's item if it is an item.
-                         */
-                        if (entity instanceof Character character) {
-                            tile.setCharacter(character);
-                            level.getCharacters().add(character);
-                        } else if (entity instanceof Item item) {
-                            tile.setItem(item);
-                            level.getItems().add(item);
-                        }
-                    }
+                for (int i = DATA_LENGTH; i < tileData.length(); i++) {
+                    addEntity(level, tile, tileData.charAt(i));
                 }
 
                 x++;
@@ -192,31 +320,91 @@ public interface Data {
 
                 isLastTile = y > height - 1;
             }
+
+            // Only read on if there are tiles left to read.
+            if (!isLastTile) {
+                tileData = tokens.next();
+            }
         }
 
-        Note[] notes = level.getItems()
-                .stream()
-                .filter(item -> item instanceof Note)
-                .toArray(Note[]::new);
+        level.linkTiles();
+
+        Note[] notes = level.getItems(Note.class).toArray(Note[]::new);
 
         // Sets message for each note.
         for (Note note : notes) {
-            String message = scan.hasNextLine()
-                    ? scan.nextLine() : "";
+            String message = tokens.hasNextLine()
+                    ? tokens.nextLine() : "";
 
             // Goes to next line if line is blank.
-            if (message.isBlank() && scan.hasNextLine()) {
-                message = scan.nextLine();
+            if (message.isBlank() && tokens.hasNextLine()) {
+                message = tokens.nextLine();
             }
 
             note.setMessage(message);
         }
 
-        scan.close();
-
         return level;
     }
 
+    /**
+     * Reads the header from the tokens of a level file.
+     * @param file level file.
+     * @param tokens tokens of the level file.
+     * @return header of the level.
+     * @throws LevelFormatException This exception is thrown when
+     *                              the file is not a level.
+     */
+    private static LevelHeader readLevelHeader(File file,
+                                               LevelTokenizer tokens) {
+        final int width = tokens.nextInt("width");
+        final int height = tokens.nextInt("height");
+        final double time = tokens.nextDouble("time");
+        final int score = tokens.nextInt("score");
+
+        return new LevelHeader(getLevelId(file), file, width, height,
+                time, score);
+    }
+
+    /**
+     * Checks whether a token is tile data, that is it starts with
+     * a colour and has more characters after it.
+     * @param token token to be checked.
+     * @return token is tile data or not.
+     */
+    private static boolean isTileData(String token) {
+        char first = token.charAt(0);
+        return token.length() > 1 && first >= 'A' && first <= 'Z';
+    }
+
+    /**
+     * Creates an entity from type and puts it on a tile of a level.
+     * Nothing is added if the type is not an entity.
+     * @param level level of the entity.
+     * @param tile tile of the entity.
+     * @param type character code for the entity type.
+     */
+    static void addEntity(Level level, Tile tile, char type) {
+        Entity entity = createEntity(type);
+        if (entity != null) {
+            entity.setTile(tile);
+            entity.setLevel(level);
+
+            /*
+             * Sets entity to tile's character if it is
+             * a character. Otherwise, sets entity to
+             * tile's item if it is an item.
+             */
+            if (entity instanceof Character character) {
+                tile.setCharacter(character);
+                level.addCharacter(character);
+            } else if (entity instanceof Item item) {
+                tile.setItem(item);
+                level.addItem(item);
+            }
+        }
+    }
+
     /**
      * Creates an entity from type.
      * @param type character code for the entity type.
@@ -240,25 +428,49 @@ public interface Data {
     }
 
     /**
-     * Gets all the levels for a player.
+     * Gets the manifest of the levels of a player, the header of each
+     * level in order of id. Only the headers of the level files are
+     * read, so no map is built. Each header is compared with the fresh
+     * level to tell whether it has been started.
      * @param name player name.
-     * @return a list of level objects created from the player's profile folder.
+     * @return headers of the levels in the player's profile folder.
      */
-    static Level[] getLevelsFromProfile(String name) {
+    static LevelHeader[] getLevelManifest(String name) {
         return Arrays.stream(
                         Objects.requireNonNull(
                                 getPlayerDirectory(name).listFiles()
                         ))
+                .filter(Data::isLevelFile)
                 .map(file -> {
-                    /* Try to read levels out of a file,
-                     Catches exception when file is not found. */
+                    /* Try to read the headers of the level and its fresh
+                     copy, Catches exception when file is not found. */
                     try {
-                        return Data.readLevel(file);
+                        LevelHeader header = readLevelHeader(file);
+                        File freshFile = getFreshLevelFile(header.getId());
+
+                        // Only a level that has a fresh copy can start over.
+                        if (freshFile.exists()) {
+                            header.compareWith(readLevelHeader(freshFile));
+                        }
+
+                        return header;
                     } catch (FileNotFoundException e) {
                         throw new RuntimeException(e);
                     }
                 })
-                .toArray(Level[]::new);
+                .sorted(Comparator.comparingInt(LevelHeader::getId))
+                .toArray(LevelHeader[]::new);
+    }
+
+    /**
+     * Checks whether a file in a profile is a level by its extension,
+     * so journals and temporary files are skipped.
+     * @param file file to be checked.
+     * @return file is a level or not.
+     */
+    static boolean isLevelFile(File file) {
+        return file.getName().endsWith(BinaryLevel.TEXT_EXTENSION)
+                || BinaryLevel.isBinary(file);
     }
 
     /**
@@ -299,142 +511,188 @@ public interface Data {
     }
 
     /**
-     * Deletes the file or all the sub files in the directory.
-     * @param file file or folder to be deleted.
+     * Removes a set of profiles and all of their high scores. Every
+     * profile is deleted in a single walk of the profile directory and
+     * the high scores are written once for all of them.
+     * @param names player names.
+     * @param progress called with the number of profiles deleted so far
+     *                 after each profile has been deleted.
+     * @throws IOException This exception is thrown when a file of a
+     *                     profile cannot be deleted.
      */
-    private static void deleteFiles(File file) {
-        /*
-         * If this file is a directory, delete all of its sub-files
-         * and delete this directory.
-         * Otherwise, delete the file.
-         */
-        if (file.isDirectory()) {
-            for (File f : Objects.requireNonNull(file.listFiles())) {
-                deleteFiles(f);
+    static void removeProfiles(Collection<String> names, IntConsumer progress)
+            throws IOException {
+        java.nio.file.Path root = getFileFromPath(PROFILES_PATH).toPath();
+        Set<String> profiles = new HashSet<>(names);
+        int[] deleted = {0};
+
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            /**
+             * Only enters the profiles to be removed and their folders.
+             * @param dir directory to be entered.
+             * @param attributes attributes of the directory.
+             * @return whether to enter the directory.
+             */
+            @Override
+            public FileVisitResult preVisitDirectory(
+                    java.nio.file.Path dir, BasicFileAttributes attributes) {
+                java.nio.file.Path relative = root.relativize(dir);
+                return dir.equals(root) || profiles.contains(
+                        relative.getName(0).toString())
+                        ? FileVisitResult.CONTINUE
+                        : FileVisitResult.SKIP_SUBTREE;
             }
 
-            deleteFile(file);
-        } else {
-            deleteFile(file);
-        }
-    }
+            /**
+             * Deletes a file of a profile to be removed.
+             * @param file file to be deleted.
+             * @param attributes attributes of the file.
+             * @return continue the walk.
+             * @throws IOException if the file cannot be deleted.
+             */
+            @Override
+            public FileVisitResult visitFile(java.nio.file.Path file,
+                                             BasicFileAttributes attributes)
+                    throws IOException {
+                // Files next to the profiles are kept.
+                if (!root.equals(file.getParent())) {
+                    Files.delete(file);
+                }
 
-    /**
-     * Deletes a file.
-     * @param file target file for deletion.
-     */
-    private static void deleteFile(File file) {
-        boolean success = file.delete();
-        // Warn if file has been deleted.
-        if (!success) {
-            System.out.println("WARN: File has already been deleted.");
-        }
-    }
+                return FileVisitResult.CONTINUE;
+            }
 
-    /**
-     * Removes a profile and all high scores of given name in the files.
-     * @param name player name.
-     */
-    static void removeProfile(String name) {
-        File folder = getPlayerDirectory(name);
+            /**
+             * Deletes a directory once its files have been deleted.
+             * @param dir directory to be deleted.
+             * @param e exception thrown in the directory, if any.
+             * @return continue the walk.
+             * @throws IOException if the directory cannot be deleted.
+             */
+            @Override
+            public FileVisitResult postVisitDirectory(java.nio.file.Path dir,
+                                                      IOException e)
+                    throws IOException {
+                // Stop if a file in the directory could not be deleted.
+                if (e != null) {
+                    throw e;
+                }
 
-        // Delete profile folder if exists.
-        if (folder.exists()) {
-            deleteFiles(folder);
-        }
+                // Delete every directory except the profile directory.
+                if (!dir.equals(root)) {
+                    Files.delete(dir);
+
+                    // Report the progress once a whole profile is deleted.
+                    if (isProfile(dir)) {
+                        deleted[0]++;
+                        progress.accept(deleted[0]);
+                    }
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
 
-        removeHighScore(name);
+            /**
+             * Checks whether a directory is a profile to be removed.
+             * @param dir directory to be checked.
+             * @return directory is a profile to be removed or not.
+             */
+            private boolean isProfile(java.nio.file.Path dir) {
+                return root.equals(dir.getParent())
+                        && profiles.contains(dir.getFileName().toString());
+            }
+        });
+
+        App.HIGH_SCORES.removeHighScores(profiles);
     }
 
     /**
      * Copies a level file with given id and pastes it in player's
-     * profile folder.
+     * profile folder. The journal of the old copy is deleted, as is a
+     * copy of the level in the other format.
      * @param id   id of the level.
      * @param name player name.
      * @throws IOException This exception is thrown when it fails
      *                     in copying the files.
      */
     static void copyLevel(int id, String name) throws IOException {
-        String fileName = id + ".txt";
-
         // Level file to copy from.
-        File input = new File(String.format("%s/%s",
-                getFileFromPath(LEVELS_PATH).getPath(),
-                fileName));
+        File input = getFreshLevelFile(id);
 
         // Level file to be pasted to.
-        File output = new File(String.format("%s/%s",
-                getPlayerDirectory(name).getPath(),
-                fileName));
+        File output = new File(getPlayerDirectory(name), input.getName());
 
         // Copy file to output if input file exists.
         if (input.exists()) {
-            Files.copy(input.toPath(),
-                    output.toPath(),
-                    StandardCopyOption.REPLACE_EXISTING);
+            writeFile(output, Files.readAllBytes(input.toPath()));
+            LevelJournal.delete(output);
+
+            // Remove the copy in the other format, so it is not listed.
+            File stale = getOtherFormatFile(output);
+            Files.deleteIfExists(stale.toPath());
+            LevelJournal.delete(stale);
         }
     }
 
     /**
-     * Saves the snapshot of the given level.
-     * @param level level to be saved.
+     * Replaces the content of a file. The content is written to a
+     * temporary file next to it and forced to the disk, which is then
+     * moved onto the file, so the file is never left half written.
+     * @param file file to be written.
+     * @param content new content of the file.
+     * @throws IOException This exception is thrown when the file
+     *                     cannot be written.
      */
-    static void saveLevel(Level level) {
-        File file = level.getFile();
-        String content = level.toString();
+    static void writeFile(File file, byte[] content) throws IOException {
+        File temp = Files.createTempFile(file.getAbsoluteFile()
+                .getParentFile().toPath(), file.getName(), TEMP_EXTENSION)
+                .toFile();
 
-        /* Try to overwrite the file with contents of the level.
-         Catch if there is an I/O exception on writing file. */
+        /*
+         * Tries to write the content to the temporary file and move it
+         * onto the file.
+         * Catches if the file system cannot move it atomically.
+         */
         try {
-            FileWriter writer = new FileWriter(file);
-            writer.write(content);
-            writer.close();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    /**
-     * Adds a new high score of player to the json table.
-     * @param id id of a level.
-     * @param name name of the player.
-     * @param score score of the player.
-     */
-    static void addHighScore(int id, String name, int score) {
-        HashMap<Integer, HashMap<String, Integer>> highScores = getHighScores();
-        HashMap<String, Integer> level = highScores.computeIfAbsent(id,
-                k -> new HashMap<>());
+            try (FileChannel channel = FileChannel.open(temp.toPath(),
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                // Keep writing until every byte has been written.
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
 
-        // Replace the score if new score is higher or there's no old score.
-        int lastScore = level.getOrDefault(name, score);
-        score = Math.max(lastScore, score);
-        level.put(name, score);
+                channel.force(true);
+            }
 
-        // Write the map as json string and write it to the file.
-        String jsonString = JSONValue.toJSONString(highScores);
-        writeJson(HIGH_SCORE_PATH, jsonString);
+            Files.move(temp.toPath(), file.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
     }
 
     /**
-     * Removes the high score of player from the json table.
-     * @param name name of the player.
+     * Gets the snapshot of a level in the format of its file.
+     * @param level level to be saved.
+     * @return content of the level file.
      */
-    static void removeHighScore(String name) {
-        HashMap<Integer, HashMap<String, Integer>> highScores = getHighScores();
-
-        // Remove high score from every level.
-        for (int id : highScores.keySet()) {
-            HashMap<String, Integer> level = highScores.get(id);
-            level.remove(name);
+    static byte[] getLevelBytes(Level level) {
+        // Save the level as binary if it was read as binary.
+        if (BinaryLevel.isBinary(level.getFile())) {
+            return BinaryLevel.toBytes(level);
         }
 
-        // Write the map as json string and write it to the file.
-        String jsonString = JSONValue.toJSONString(highScores);
-        writeJson(HIGH_SCORE_PATH, jsonString);
+        return level.toString().getBytes(StandardCharsets.UTF_8);
     }
 
     /**
-     * Gets a hashmap containing high scores of all levels.
+     * Reads the high scores of all levels from the json table. The
+     * table is parsed once and every level is read from it.
      * @return hashmap of high scores of all levels.
      */
     static HashMap<Integer, HashMap<String, Integer>> getHighScores() {
@@ -445,42 +703,35 @@ public interface Data {
         // Add a high score table for every level.
         for (Object l : jsonObject.keySet()) {
             int id = Integer.parseInt(String.valueOf(l));
-            HashMap<String, Integer> highScore = getHighScore(id);
-
-            highScores.put(id, highScore);
-        }
-
-        return highScores;
-
-    }
-
-    /**
-     * Gets a hashmap containing the data of high score table
-     * of a level.
-     * @param id id of the level.
-     * @return hashmap of high score of a level.
-     */
-    static HashMap<String, Integer> getHighScore(int id) {
-        JSONObject jsonObject = readJson(HIGH_SCORE_PATH);
-        JSONObject profiles = (JSONObject) jsonObject.get(String.valueOf(id));
+            JSONObject profiles = (JSONObject) jsonObject.get(l);
+            HashMap<String, Integer> highScore = new HashMap<>();
 
-        HashMap<String, Integer> highScores = new HashMap<>();
-
-        // Get highscores if there are profiles.
-        if (profiles != null) {
             // Add a profile for every player who scored in this level.
             for (Object n : profiles.keySet()) {
                 String name = (String) n;
                 int score = Integer.parseInt(
                         String.valueOf(profiles.get(name)));
 
-                highScores.put(name, score);
+                highScore.put(name, score);
             }
+
+            highScores.put(id, highScore);
         }
 
         return highScores;
     }
 
+    /**
+     * Writes the high scores of all levels to the json table.
+     * @param highScores high scores of each player by the id of the level.
+     */
+    static void writeHighScores(
+            Map<Integer, ? extends Map<String, Integer>> highScores) {
+        // Write the map as json string and write it to the file.
+        String jsonString = JSONValue.toJSONString(highScores);
+        writeJson(HIGH_SCORE_PATH, jsonString);
+    }
+
     /**
      * Reads json file as a hash map.
      * @param path path of json file.
@@ -513,9 +764,7 @@ public interface Data {
          * Catches if file is a directory.
          */
         try {
-            FileWriter writer = new FileWriter(file);
-            writer.write(jsonString);
-            writer.close();
+            writeFile(file, jsonString.getBytes(StandardCharsets.UTF_8));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
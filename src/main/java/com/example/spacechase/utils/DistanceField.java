@@ -0,0 +1,301 @@
+package com.example.spacechase.utils;
+
+import com.example.spacechase.models.items.Gate;
+import com.example.spacechase.models.level.Tile;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * This class represents a distance field over the links of a tile map.
+ * For every tile it holds the number of steps to the closest target tile
+ * and which target that is, so a character can read its next step
+ * without searching. The field is built with a breadth first search
+ * from all targets at once, walking the links backwards.
+ * Tiles with a gate on it can not be walked through. Characters move
+ * every step, so they are not part of the field. Instead, the path of
+ * the field is checked for characters with {@link #isClear(Tile)}
+ * before a step is read, and a search that goes around characters is
+ * needed when it is not clear.
+ * @author Tristan Tsang
+ * @version 1.0.2
+ */
+public class DistanceField {
+    /**
+     * Distance of a tile that can not reach any target.
+     */
+    private static final int UNREACHED = -1;
+    /**
+     * All directions in order of priority.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+    /**
+     * Tile map of the field.
+     */
+    private final Tile[][] tileMap;
+    /**
+     * Width of the tile map.
+     */
+    private final int width;
+    /**
+     * Whether a tile is a target.
+     */
+    private final Predicate<Tile> isTarget;
+    /**
+     * Number of steps from each tile to the closest target.
+     */
+    private final int[] distances;
+    /**
+     * Index of the closest target of each tile. If several targets are
+     * equally close, the first one in reading order is kept.
+     */
+    private final int[] targets;
+    /**
+     * Queue of tile indices waiting to be expanded.
+     */
+    private final int[] queue;
+    /**
+     * Start of the tiles that link into each tile in sources.
+     */
+    private int[] sourceStarts;
+    /**
+     * Indices of the tiles that link into each tile.
+     */
+    private int[] sources;
+    /**
+     * Graph version of the level that the field was built at.
+     */
+    private int version;
+
+    /**
+     * Creates an empty distance field for a tile map.
+     * @param tileMap tile map of the field.
+     * @param isTarget whether a tile is a target.
+     */
+    public DistanceField(Tile[][] tileMap, Predicate<Tile> isTarget) {
+        this.tileMap = tileMap;
+        this.width = tileMap[0].length;
+        this.isTarget = isTarget;
+
+        int count = width * tileMap.length;
+        this.distances = new int[count];
+        this.targets = new int[count];
+        this.queue = new int[count];
+        this.version = UNREACHED;
+    }
+
+    /**
+     * Gets the graph version that the field was built at.
+     * @return graph version of the field.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Builds the distance of every tile to its closest target.
+     * @param version graph version of the level.
+     */
+    public void build(int version) {
+        /*
+         * Links do not change once the level is loaded,
+         * so only find the tiles linking into each tile once.
+         */
+        if (sources == null) {
+            buildSources();
+        }
+
+        Arrays.fill(distances, UNREACHED);
+        int head = 0;
+        int tail = 0;
+
+        /*
+         * Every target is a start of the search. They are added in
+         * reading order so that the first target is kept on ties.
+         */
+        for (int i = 0; i < distances.length; i++) {
+            // Start from the tile if it is a target.
+            if (isTarget.test(tileAt(i))) {
+                distances[i] = 0;
+                targets[i] = i;
+                queue[tail++] = i;
+            }
+        }
+
+        /*
+         * While there are tiles in the queue, give every tile that
+         * links into it a distance. A tile can only pass on its
+         * distance if it can be walked onto.
+         */
+        while (head < tail) {
+            int index = queue[head++];
+
+            // Skip the tile if there is a gate on it.
+            if (tileAt(index).getItem() instanceof Gate) {
+                continue;
+            }
+
+            int distance = distances[index] + 1;
+            // For each tile that links into this tile.
+            for (int s = sourceStarts[index]; s < sourceStarts[index + 1];
+                 s++) {
+                int source = sources[s];
+
+                /*
+                 * Queue the tile if it is the first time reaching it.
+                 * Otherwise, keep the first target in reading order
+                 * if this target is as close as the last one.
+                 */
+                if (distances[source] == UNREACHED) {
+                    distances[source] = distance;
+                    targets[source] = targets[index];
+                    queue[tail++] = source;
+                } else if (distances[source] == distance
+                        && targets[index] < targets[source]) {
+                    targets[source] = targets[index];
+                }
+            }
+        }
+
+        this.version = version;
+    }
+
+    /**
+     * Gets the closest target of a tile.
+     * @param tile tile to move from.
+     * @return closest target tile, null if no target can be reached.
+     */
+    public Tile getTarget(Tile tile) {
+        int index = indexOf(tile);
+        return distances[index] == UNREACHED
+                ? null
+                : tileAt(targets[index]);
+    }
+
+    /**
+     * Checks that the path the field gives from a tile to its closest
+     * target has no character on it, by following the steps of
+     * {@link #nextStep(Tile)} to the target. When it is clear, the
+     * target and the first step are the same as searching around the
+     * characters, as characters can only make paths longer.
+     * @param tile tile to move from.
+     * @return whether the path to the closest target is clear, or no
+     * target can be reached even without characters.
+     */
+    public boolean isClear(Tile tile) {
+        Tile step = tile;
+        // Follow the steps until the target is reached.
+        for (int distance = distances[indexOf(tile)]; distance > 0;
+             distance--) {
+            step = nextStep(step);
+            // The path is blocked if there is no free step to take.
+            if (step == null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the next tile on the shortest path from a tile to its
+     * closest target. Ties are broken by the order of {@link Direction}.
+     * A link with a character or a gate on it is skipped.
+     * @param tile tile to move from.
+     * @return next tile to move onto, null if there is no target that
+     * can be reached, the tile is a target or every link one step
+     * closer to the target has a character on it.
+     */
+    public Tile nextStep(Tile tile) {
+        int index = indexOf(tile);
+        int distance = distances[index];
+
+        // There is no step to take if there is no target or is on one.
+        if (distance == UNREACHED || distance == 0) {
+            return null;
+        }
+
+        // Move onto the first free link one step closer to the target.
+        for (Direction direction : DIRECTIONS) {
+            Tile link = tile.getLinkedTile(direction);
+
+            // Take the link if it is closer and can be walked onto.
+            if (link != null && isFree(link)
+                    && distances[indexOf(link)] == distance - 1
+                    && targets[indexOf(link)] == targets[index]) {
+                return link;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds the tiles that link into each tile, in the order of the
+     * tile map and directions.
+     */
+    private void buildSources() {
+        int count = distances.length;
+        sourceStarts = new int[count + 1];
+
+        // Count the links into each tile.
+        for (int i = 0; i < count; i++) {
+            Tile tile = tileAt(i);
+            // For each direction, count the link if it exists.
+            for (Direction direction : DIRECTIONS) {
+                Tile link = tile.getLinkedTile(direction);
+                if (link != null) {
+                    sourceStarts[indexOf(link) + 1]++;
+                }
+            }
+        }
+
+        // Turn the counts into the start of each tile in sources.
+        for (int i = 0; i < count; i++) {
+            sourceStarts[i + 1] += sourceStarts[i];
+        }
+
+        sources = new int[sourceStarts[count]];
+        int[] filled = new int[count];
+        // Fill in the tiles that link into each tile.
+        for (int i = 0; i < count; i++) {
+            Tile tile = tileAt(i);
+            // For each direction, add this tile to the sources of link.
+            for (Direction direction : DIRECTIONS) {
+                Tile link = tile.getLinkedTile(direction);
+                if (link != null) {
+                    int linkIndex = indexOf(link);
+                    sources[sourceStarts[linkIndex] + filled[linkIndex]++] =
+                            i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a tile can be walked onto.
+     * @param tile tile to be checked.
+     * @return whether there is no character and no gate on the tile.
+     */
+    private boolean isFree(Tile tile) {
+        return tile.getCharacter() == null
+                && !(tile.getItem() instanceof Gate);
+    }
+
+    /**
+     * Gets the index of a tile in the tile map.
+     * @param tile tile.
+     * @return index of the tile.
+     */
+    private int indexOf(Tile tile) {
+        return tile.getY() * width + tile.getX();
+    }
+
+    /**
+     * Gets the tile of an index in the tile map.
+     * @param index index of the tile.
+     * @return tile of the index.
+     */
+    private Tile tileAt(int index) {
+        return tileMap[index / width][index % width];
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.spacechase.utils;
+
+import com.example.spacechase.models.Level;
+import com.example.spacechase.models.level.Tile;
+import java.util.HashMap;
+import java.util.function.Predicate;
+
+/**
+ * This class represents a cache of distance fields of a level. A field
+ * is kept for each target set and is only rebuilt once the graph version
+ * of the level has changed, that is when an item is removed or a gate
+ * is opened. Characters are not part of the fields, so moving them
+ * keeps the fields up-to-date. When a character stands in the way of
+ * the path of a field, the step is found with the tile search of the
+ * level instead, which goes around characters.
+ * @author Tristan Tsang
+ * @version 1.0.2
+ */
+public class DistanceFieldCache {
+    /**
+     * Level of the cache.
+     */
+    private final Level level;
+    /**
+     * Distance fields of each target set.
+     */
+    private final HashMap<Predicate<Tile>, DistanceField> fields;
+    /**
+     * Number of times a field was still up-to-date.
+     */
+    private long hits;
+    /**
+     * Number of times a field had to be built.
+     */
+    private long misses;
+    /**
+     * Number of times a character was in the way of a field and the
+     * tile search was used.
+     */
+    private long searches;
+
+    /**
+     * Creates an empty cache for a level.
+     * @param level level of the cache.
+     */
+    public DistanceFieldCache(Level level) {
+        this.level = level;
+        this.fields = new HashMap<>();
+    }
+
+    /**
+     * Gets the distance field of a target set, builds it again if
+     * the level has changed since it was last built.
+     * @param targets target set, the same instance must be given
+     * every time for the field to be reused.
+     * @return up-to-date distance field of the target set.
+     */
+    public DistanceField get(Predicate<Tile> targets) {
+        DistanceField field = fields.get(targets);
+
+        // Create the field if it is the first time asking for it.
+        if (field == null) {
+            field = new DistanceField(level.getTileMap(), targets);
+            fields.put(targets, field);
+        }
+
+        int version = level.getGraphVersion();
+        /*
+         * Build the field again if the graph has changed.
+         * Otherwise, the last field can be used.
+         */
+        if (field.getVersion() != version) {
+            field.build(version);
+            misses++;
+        } else {
+            hits++;
+        }
+
+        return field;
+    }
+
+    /**
+     * Gets the next step from a tile to its closest target. The field
+     * of the target set is followed if no character is in the way of its
+     * path. Otherwise, the level is searched from the tile around the
+     * characters. Either way, the step is the same as searching for each
+     * target on its own and keeping the closest.
+     * @param targets target set, the same instance must be given
+     * every time for the field to be reused.
+     * @param tile tile to move from.
+     * @return next tile to move onto, null if there is no target that
+     * can be reached or the tile is a target.
+     */
+    public Tile nextStep(Predicate<Tile> targets, Tile tile) {
+        DistanceField field = get(targets);
+
+        // Follow the field if there is no character in the way.
+        if (field.isClear(tile)) {
+            return field.nextStep(tile);
+        }
+
+        searches++;
+        TileSearch search = level.getTileSearch();
+        return search.getStep(search.searchNearest(tile, targets));
+    }
+
+    /**
+     * Gets the number of times a field was still up-to-date.
+     * @return number of cache hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of times a field had to be built.
+     * @return number of cache misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of times a character was in the way of a field.
+     * @return number of tile searches.
+     */
+    public long getSearches() {
+        return searches;
+    }
+}
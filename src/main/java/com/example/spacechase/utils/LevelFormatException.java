@@ -0,0 +1,59 @@
+package com.example.spacechase.utils;
+
+import java.util.InputMismatchException;
+
+/**
+ * This exception is thrown when a level file does not have the
+ * expected format. It tells the line and column where reading failed.
+ * @author Tristan Tsang
+ * @version 1.0.1
+ */
+public class LevelFormatException extends InputMismatchException {
+    /**
+     * Line of the error, starting from 1.
+     */
+    private final int line;
+    /**
+     * Column of the error, starting from 1.
+     */
+    private final int column;
+
+    /**
+     * Creates an exception for an error at a position in a level file.
+     * @param message description of the error.
+     * @param line line of the error, starting from 1.
+     * @param column column of the error, starting from 1.
+     */
+    public LevelFormatException(String message, int line, int column) {
+        super(String.format("%d:%d: %s", line, column, message));
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * Creates an exception for an error in a binary level file, which
+     * has no lines. The line and column are 0.
+     * @param message description of the error with its byte offset.
+     */
+    public LevelFormatException(String message) {
+        super(message);
+        this.line = 0;
+        this.column = 0;
+    }
+
+    /**
+     * Gets the line of the error.
+     * @return line of the error, starting from 1, 0 if it has no line.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Gets the column of the error.
+     * @return column of the error, starting from 1, 0 if it has no line.
+     */
+    public int getColumn() {
+        return column;
+    }
+}
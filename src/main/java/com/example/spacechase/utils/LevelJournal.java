@@ -0,0 +1,634 @@
+package com.example.spacechase.utils;
+
+import com.example.spacechase.models.Level;
+import com.example.spacechase.models.characters.Character;
+import com.example.spacechase.models.items.Item;
+import com.example.spacechase.models.level.Entity;
+import com.example.spacechase.models.level.LevelHeader;
+import com.example.spacechase.models.level.LevelListener;
+import com.example.spacechase.models.level.TileGrid;
+import com.example.spacechase.services.PersistenceService;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+/**
+ * This class represents a journal of the changes of a level. Instead of
+ * saving the whole level every time, the moves of characters, the
+ * removals of characters and items, and the time and score are appended
+ * to a journal file next to the level file. The journal is synced to the
+ * disk every few seconds of level time and when the game is paused, and
+ * it is folded into a new snapshot of the level once it grows too big.
+ * The files are written by the persistence service, so the game does
+ * not wait for the disk.
+ * <p>
+ * The journal starts with the checksum of the snapshot it belongs to,
+ * so a journal that has already been folded into the snapshot is not
+ * replayed again. Characters and items are numbered in the order they
+ * are read from the snapshot. Every sync ends with a commit record and
+ * only committed changes are replayed.
+ * @author Tristan Tsang
+ * @version 1.0.3
+ */
+public class LevelJournal implements LevelListener {
+    /**
+     * Extension that is added to the level file name of its journal.
+     */
+    public static final String EXTENSION = ".journal";
+    /**
+     * Level time in seconds between each sync of the journal.
+     */
+    private static final double SYNC_INTERVAL = 5;
+    /**
+     * Size of the journal in bytes after which it is folded into
+     * a new snapshot.
+     */
+    private static final long COMPACT_SIZE = 64 * 1024;
+    /**
+     * Record of the checksum of the snapshot.
+     */
+    private static final String HEADER = "J";
+    /**
+     * Record of a character moving to a tile.
+     */
+    private static final String MOVE = "M";
+    /**
+     * Record of a character being removed.
+     */
+    private static final String CHARACTER_REMOVED = "C";
+    /**
+     * Record of an item being removed.
+     */
+    private static final String ITEM_REMOVED = "I";
+    /**
+     * Record of the time of the level.
+     */
+    private static final String TIME = "T";
+    /**
+     * Record of the score of the level.
+     */
+    private static final String SCORE = "S";
+    /**
+     * Record that commits the records of a sync.
+     */
+    private static final String COMMIT = "E";
+    /**
+     * Level of the journal.
+     */
+    private final Level level;
+    /**
+     * Journal file.
+     */
+    private final File file;
+    /**
+     * Service that writes the journal.
+     */
+    private final PersistenceService persistence;
+    /**
+     * Number of each character in the snapshot.
+     */
+    private final IdentityHashMap<Character, Integer> characterIds;
+    /**
+     * Number of each item in the snapshot.
+     */
+    private final IdentityHashMap<Item, Integer> itemIds;
+    /**
+     * Last journaled tile of each character by its number.
+     */
+    private int[] characterTiles;
+    /**
+     * Records that have not been synced yet.
+     */
+    private final StringBuilder records;
+    /**
+     * Size of the records in the journal file in bytes.
+     */
+    private long size;
+    /**
+     * Time of the level at the last sync.
+     */
+    private double syncedTime;
+    /**
+     * Score of the level at the last sync.
+     */
+    private int syncedScore;
+    /**
+     * Determines whether the level has ended.
+     */
+    private boolean isEnded;
+
+    /**
+     * Creates a journal of a level. If the level file already has a
+     * journal, the level has been replayed from it, so it is folded
+     * into a new snapshot first and the journal starts again.
+     * @param level level of the journal.
+     * @param persistence service that writes the journal.
+     */
+    public LevelJournal(Level level, PersistenceService persistence) {
+        this.level = level;
+        this.persistence = persistence;
+        this.file = getJournalFile(level.getFile());
+        this.characterIds = new IdentityHashMap<>();
+        this.itemIds = new IdentityHashMap<>();
+        this.records = new StringBuilder();
+        this.syncedTime = level.getTime();
+        this.syncedScore = level.getScore();
+
+        // Fold the old journal into the snapshot, otherwise start one.
+        if (file.exists()) {
+            compact();
+        } else {
+            File levelFile = level.getFile();
+            numberEntities();
+            persistence.execute(() -> writeHeader(checksum(
+                    Files.readAllBytes(levelFile.toPath()))));
+        }
+    }
+
+    /**
+     * Gets the journal file of a level file.
+     * @param levelFile level file.
+     * @return journal file of the level.
+     */
+    public static File getJournalFile(File levelFile) {
+        return new File(levelFile.getPath() + EXTENSION);
+    }
+
+    /**
+     * Checks whether a file is a journal by its extension.
+     * @param file file to be checked.
+     * @return file is a journal or not.
+     */
+    public static boolean isJournal(File file) {
+        return file.getName().endsWith(EXTENSION);
+    }
+
+    /**
+     * Deletes the journal of a level file, used when the level file is
+     * replaced by a fresh copy.
+     * @param levelFile level file.
+     * @throws UncheckedIOException if the journal cannot be deleted.
+     */
+    public static void delete(File levelFile) {
+        /*
+         * Try to delete the journal.
+         * Catches if the journal cannot be deleted.
+         */
+        try {
+            Files.deleteIfExists(getJournalFile(levelFile).toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replays the committed changes of the journal of a level that has
+     * just been read from its snapshot. Nothing is replayed if there is
+     * no journal or it belongs to another snapshot. A change that was
+     * not fully written is ignored along with the rest of its sync.
+     * @param level level read from its snapshot.
+     * @throws UncheckedIOException if the journal cannot be read.
+     */
+    public static void replay(Level level) {
+        /*
+         * Tries to read the journal.
+         * Catches if the journal cannot be opened.
+         */
+        try (LevelTokenizer tokens = open(level.getFile())) {
+            // There is nothing to replay without a current journal.
+            if (tokens != null) {
+                replay(level, tokens);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replays the committed time and score of the journal of a level on
+     * the header that has just been read from its snapshot. The moves
+     * and removals are skipped, so no map is needed.
+     * @param header header read from the snapshot.
+     * @throws UncheckedIOException if the journal cannot be read.
+     */
+    public static void replay(LevelHeader header) {
+        /*
+         * Tries to read the journal.
+         * Catches if the journal cannot be opened.
+         */
+        try (LevelTokenizer tokens = open(header.getFile())) {
+            // There is nothing to replay without a current journal.
+            if (tokens != null) {
+                replay(header, tokens);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens the journal of a level file and reads its header.
+     * @param levelFile level file.
+     * @return tokens of the records of the journal, null if there is no
+     *         journal or it belongs to another snapshot.
+     * @throws IOException if the journal cannot be read.
+     */
+    private static LevelTokenizer open(File levelFile) throws IOException {
+        File journal = getJournalFile(levelFile);
+        // There is nothing to open without a journal.
+        if (!journal.exists()) {
+            return null;
+        }
+
+        LevelTokenizer tokens =
+                new LevelTokenizer(FileChannel.open(journal.toPath()));
+        // Only open the journal of the current snapshot.
+        if (!HEADER.equals(tokens.next())
+                || !Long.toHexString(checksum(Files.readAllBytes(
+                        levelFile.toPath())))
+                .equals(tokens.next())) {
+            tokens.close();
+            return null;
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Replays the records of a journal after its header.
+     * @param level level read from its snapshot.
+     * @param tokens tokens of the journal.
+     */
+    private static void replay(Level level, LevelTokenizer tokens) {
+        TileGrid grid = level.getGrid();
+        int tileCount = grid.getWidth() * grid.getHeight();
+        ArrayList<Character> characters = new ArrayList<>();
+        ArrayList<Item> items = new ArrayList<>();
+        // Number the characters and items as the journal did.
+        for (int i = 0; i < tileCount; i++) {
+            // Keep the character of the tile if there is one.
+            if (grid.getCharacter(i) != null) {
+                characters.add(grid.getCharacter(i));
+            }
+
+            // Keep the item of the tile if there is one.
+            if (grid.getItem(i) != null) {
+                items.add(grid.getItem(i));
+            }
+        }
+
+        ArrayList<Runnable> changes = new ArrayList<>();
+        /*
+         * Tries to read every record, changes are only made when the
+         * records of their sync have been committed.
+         * Catches if a record has not been fully written.
+         */
+        try {
+            String type = tokens.next();
+            // Read each record until the end of the journal.
+            while (type != null) {
+                switch (type) {
+                    case MOVE -> {
+                        Character character =
+                                get(characters, tokens, "character");
+                        int tile = tokens.nextInt("tile");
+                        // The tile must be in the map.
+                        if (tile < 0 || tile >= tileCount) {
+                            throw tokens.error("Invalid tile " + tile);
+                        }
+
+                        changes.add(() -> moveCharacter(
+                                character, grid, tile));
+                    }
+                    case CHARACTER_REMOVED -> {
+                        Character character =
+                                get(characters, tokens, "character");
+                        changes.add(() -> removeCharacter(level, character));
+                    }
+                    case ITEM_REMOVED -> changes.add(
+                            get(items, tokens, "item")::remove);
+                    case TIME -> {
+                        double time = tokens.nextDouble("time");
+                        changes.add(() -> level.setTime(time));
+                    }
+                    case SCORE -> {
+                        int score = tokens.nextInt("score");
+                        changes.add(() -> level.setScore(score));
+                    }
+                    case COMMIT -> {
+                        changes.forEach(Runnable::run);
+                        changes.clear();
+                    }
+                    default -> throw tokens.error(
+                            "Unknown record \"" + type + "\"");
+                }
+
+                type = tokens.next();
+            }
+        } catch (LevelFormatException e) {
+            System.out.println("WARN: Journal ends early, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replays the time and score records of a journal after its header.
+     * @param header header read from the snapshot.
+     * @param tokens tokens of the journal.
+     */
+    private static void replay(LevelHeader header, LevelTokenizer tokens) {
+        double time = header.getTime();
+        int score = header.getScore();
+        /*
+         * Tries to read every record, the time and score are only kept
+         * when the records of their sync have been committed.
+         * Catches if a record has not been fully written.
+         */
+        try {
+            String type = tokens.next();
+            // Read each record until the end of the journal.
+            while (type != null) {
+                switch (type) {
+                    case MOVE -> {
+                        tokens.nextInt("character");
+                        tokens.nextInt("tile");
+                    }
+                    case CHARACTER_REMOVED -> tokens.nextInt("character");
+                    case ITEM_REMOVED -> tokens.nextInt("item");
+                    case TIME -> time = tokens.nextDouble("time");
+                    case SCORE -> score = tokens.nextInt("score");
+                    case COMMIT -> {
+                        header.setTime(time);
+                        header.setScore(score);
+                    }
+                    default -> throw tokens.error(
+                            "Unknown record \"" + type + "\"");
+                }
+
+                type = tokens.next();
+            }
+        } catch (LevelFormatException e) {
+            System.out.println("WARN: Journal ends early, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the number of a character or an item and gets it.
+     * @param entities characters or items in the order of the snapshot.
+     * @param tokens tokens of the journal.
+     * @param name name of the number, used in the error message.
+     * @param <E> type of the entities.
+     * @return entity of the number.
+     */
+    private static <E extends Entity> E get(List<E> entities,
+                                            LevelTokenizer tokens,
+                                            String name) {
+        int id = tokens.nextInt(name);
+        // The number must be one of the snapshot.
+        if (id < 0 || id >= entities.size()) {
+            throw tokens.error(String.format("Invalid %s %d", name, id));
+        }
+
+        return entities.get(id);
+    }
+
+    /**
+     * Moves a character to a tile without telling anything about it.
+     * @param character character to be moved.
+     * @param grid grid of the tiles.
+     * @param index index of the tile.
+     */
+    private static void moveCharacter(Character character, TileGrid grid,
+                                      int index) {
+        character.getTile().setCharacter(null);
+        grid.setCharacter(index, character);
+        character.setTile(grid.getTile(index));
+    }
+
+    /**
+     * Removes a character from its level and its tile without telling
+     * anything about it.
+     * @param level level of the character.
+     * @param character character to be removed.
+     */
+    private static void removeCharacter(Level level, Character character) {
+        level.removeCharacter(character);
+        character.getTile().setCharacter(null);
+    }
+
+    /**
+     * Gets the checksum of the content of a level file.
+     * @param content content of the level file.
+     * @return CRC-32 of the content.
+     */
+    private static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    /**
+     * Submits the changes that have not been synced to be appended to
+     * the journal and forced to the disk. The journal is folded into a
+     * new snapshot if it has grown too big.
+     * @return future that is completed once the changes are on the disk.
+     */
+    public CompletableFuture<Void> sync() {
+        double time = level.getTime();
+        int score = level.getScore();
+        // Nothing is written after the level has ended.
+        if (isEnded) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Only write the time if it has changed.
+        if (time != syncedTime) {
+            records.append(TIME).append(' ').append(time).append('\n');
+            syncedTime = time;
+        }
+
+        // Only write the score if it has changed.
+        if (score != syncedScore) {
+            records.append(SCORE).append(' ').append(score).append('\n');
+            syncedScore = score;
+        }
+
+        // There is nothing to write if nothing has changed.
+        if (records.length() == 0) {
+            return persistence.flush();
+        }
+
+        records.append(COMMIT).append('\n');
+        byte[] bytes = records.toString().getBytes(StandardCharsets.UTF_8);
+        records.setLength(0);
+        size += bytes.length;
+        CompletableFuture<Void> future =
+                persistence.execute(() -> append(bytes));
+
+        // Fold the journal into a snapshot if it has grown too big.
+        if (size > COMPACT_SIZE) {
+            return compact();
+        }
+
+        return future;
+    }
+
+    /**
+     * Submits a full snapshot of the level to be saved and the journal
+     * to be started again. The snapshot is taken straight away, so
+     * changes that have not been synced are part of it.
+     * @return future that is completed once the snapshot is on the disk.
+     */
+    public CompletableFuture<Void> compact() {
+        File levelFile = level.getFile();
+        byte[] snapshot = Data.getLevelBytes(level);
+        records.setLength(0);
+        size = 0;
+        syncedTime = level.getTime();
+        syncedScore = level.getScore();
+        numberEntities();
+
+        return persistence.execute(() -> {
+            Data.writeFile(levelFile, snapshot);
+            writeHeader(checksum(snapshot));
+        });
+    }
+
+    /**
+     * Numbers the characters and items in the order they are read from
+     * the snapshot, which is the order of their tiles.
+     */
+    private void numberEntities() {
+        characterIds.clear();
+        itemIds.clear();
+        TileGrid grid = level.getGrid();
+        int tileCount = grid.getWidth() * grid.getHeight();
+        // Number the character and the item of every tile.
+        for (int i = 0; i < tileCount; i++) {
+            Character character = grid.getCharacter(i);
+            Item item = grid.getItem(i);
+
+            // Number the character of the tile if there is one.
+            if (character != null) {
+                characterIds.put(character, characterIds.size());
+            }
+
+            // Number the item of the tile if there is one.
+            if (item != null) {
+                itemIds.put(item, itemIds.size());
+            }
+        }
+
+        characterTiles = new int[characterIds.size()];
+        // Keep the tile every character is on.
+        characterIds.forEach((character, id) ->
+                characterTiles[id] = character.getTile().getIndex());
+    }
+
+    /**
+     * Replaces the journal with one that only has the checksum of the
+     * snapshot. Run by the persistence service.
+     * @param crc checksum of the snapshot.
+     * @throws IOException if the journal cannot be written.
+     */
+    private void writeHeader(long crc) throws IOException {
+        String header = HEADER + ' ' + Long.toHexString(crc) + '\n';
+        Data.writeFile(file, header.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Appends records to the journal and forces them to the disk. Run by
+     * the persistence service.
+     * @param bytes records to be appended.
+     * @throws IOException if the journal cannot be written.
+     */
+    private void append(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        // Append to the journal and create it if it is missing.
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            // Keep writing until every byte has been written.
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Keeps the move of a character if it is on another tile.
+     * @param entity entity that has moved.
+     */
+    @Override
+    public void entityMoved(Entity entity) {
+        // Only characters move.
+        if (!(entity instanceof Character character)) {
+            return;
+        }
+
+        Integer id = characterIds.get(character);
+        int tile = character.getTile().getIndex();
+        // Only keep the move if the character is on another tile.
+        if (id != null && characterTiles[id] != tile) {
+            characterTiles[id] = tile;
+            records.append(MOVE).append(' ').append(id.intValue())
+                    .append(' ').append(tile).append('\n');
+        }
+    }
+
+    /**
+     * Keeps the removal of a character or an item.
+     * @param entity removed entity.
+     */
+    @Override
+    public void entityRemoved(Entity entity) {
+        /*
+         * Keep the number of the character or the item so it is
+         * removed again when the journal is replayed.
+         */
+        if (entity instanceof Character character
+                && characterIds.containsKey(character)) {
+            records.append(CHARACTER_REMOVED).append(' ')
+                    .append(characterIds.get(character).intValue())
+                    .append('\n');
+        } else if (entity instanceof Item item
+                && itemIds.containsKey(item)) {
+            records.append(ITEM_REMOVED).append(' ')
+                    .append(itemIds.get(item).intValue()).append('\n');
+        }
+    }
+
+    /**
+     * Syncs the journal every few seconds of level time.
+     * @param time new time of the level.
+     */
+    @Override
+    public void timeChanged(double time) {
+        // Sync if enough level time has passed since the last sync.
+        if (Math.abs(syncedTime - time) >= SYNC_INTERVAL) {
+            sync();
+        }
+    }
+
+    /**
+     * Stops the journal, the level file is replaced once the level
+     * has ended.
+     * @param isCleared level is cleared or not.
+     */
+    @Override
+    public void levelEnded(boolean isCleared) {
+        isEnded = true;
+        records.setLength(0);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.spacechase.utils;
+
+import com.example.spacechase.models.Level;
+import com.example.spacechase.models.characters.Character;
+import com.example.spacechase.models.items.Item;
+import com.example.spacechase.models.items.Note;
+import com.example.spacechase.models.level.TileGrid;
+import java.io.File;
+import java.util.List;
+
+/**
+ * This class represents a parsed fresh level that new levels are
+ * created from. It keeps the tiles with their links already built, the
+ * type of the character and item of each tile and the message of each
+ * note. A template is never changed after it has been created, so it
+ * can be shared by every profile.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+public class LevelTemplate {
+    /**
+     * Type of a tile that has no entity.
+     */
+    private static final char NONE = 0;
+    /**
+     * Id of the level.
+     */
+    private final int id;
+    /**
+     * Time of the fresh level.
+     */
+    private final double time;
+    /**
+     * Score of the fresh level.
+     */
+    private final int score;
+    /**
+     * Time the fresh level file was last modified.
+     */
+    private final long lastModified;
+    /**
+     * Tiles of the level with their links, without entities.
+     */
+    private final TileGrid terrain;
+    /**
+     * Type of the character of each tile.
+     */
+    private final char[] characterTypes;
+    /**
+     * Type of the item of each tile.
+     */
+    private final char[] itemTypes;
+    /**
+     * Message of each note in order.
+     */
+    private final String[] messages;
+
+    /**
+     * Creates a template from a fresh level that has just been read.
+     * @param level fresh level.
+     * @param lastModified time the fresh level file was last modified.
+     */
+    public LevelTemplate(Level level, long lastModified) {
+        TileGrid grid = level.getGrid();
+        int size = grid.getWidth() * grid.getHeight();
+        this.id = level.getId();
+        this.time = level.getTime();
+        this.score = level.getScore();
+        this.lastModified = lastModified;
+        this.terrain = new TileGrid(grid);
+        this.characterTypes = new char[size];
+        this.itemTypes = new char[size];
+
+        // Keep the type of the character and item of every tile.
+        for (int i = 0; i < size; i++) {
+            Character character = grid.getCharacter(i);
+            Item item = grid.getItem(i);
+            characterTypes[i] = character == null ? NONE : character.getId();
+            itemTypes[i] = item == null ? NONE : item.getId();
+        }
+
+        this.messages = level.getItems(Note.class).stream()
+                .map(Note::getMessage)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Gets id of the level.
+     * @return id of the level.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the time the fresh level file was last modified.
+     * @return time of the last modification.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Creates a fresh level from the template. The tiles are copied and
+     * new entities are created, nothing is read from the disk.
+     * @param file file the level is saved to.
+     * @return fresh level.
+     */
+    public Level createLevel(File file) {
+        TileGrid grid = new TileGrid(terrain);
+        Level level = new Level(id, file, time, score, grid);
+        // Create the character and the item of every tile.
+        for (int i = 0; i < characterTypes.length; i++) {
+            // Add the character of the tile if there is one.
+            if (characterTypes[i] != NONE) {
+                Data.addEntity(level, grid.getTile(i), characterTypes[i]);
+            }
+
+            // Add the item of the tile if there is one.
+            if (itemTypes[i] != NONE) {
+                Data.addEntity(level, grid.getTile(i), itemTypes[i]);
+            }
+        }
+
+        List<Note> notes = level.getItems(Note.class);
+        // Set the message of each note in order.
+        for (int i = 0; i < notes.size(); i++) {
+            notes.get(i).setMessage(messages[i]);
+        }
+
+        return level;
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.spacechase.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class represents a tokenizer of level files. It reads the bytes
+ * of a channel through a buffer once, splits them into tokens at
+ * whitespace and lines at line breaks, and keeps the line and column
+ * of each token so errors can tell where they happened. Tokens and
+ * lines are decoded as UTF-8.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+public class LevelTokenizer implements AutoCloseable {
+    /**
+     * Size of the read buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * Initial size of the token buffer in bytes.
+     */
+    private static final int TOKEN_SIZE = 64;
+    /**
+     * Value returned when there are no more bytes.
+     */
+    private static final int END = -1;
+    /**
+     * Bits that are set in the leading bits of a UTF-8 continuation byte.
+     */
+    private static final int CONTINUATION = 0x80;
+    /**
+     * Leading bits of a byte that tell whether it is a continuation byte.
+     */
+    private static final int CONTINUATION_MASK = 0xC0;
+    /**
+     * Mask that turns a byte into an unsigned value.
+     */
+    private static final int UNSIGNED = 0xFF;
+    /**
+     * Vertical tab character.
+     */
+    private static final int VERTICAL_TAB = 0x0B;
+    /**
+     * First of the file, group, record and unit separator characters.
+     */
+    private static final int FIRST_SEPARATOR = 0x1C;
+    /**
+     * Last of the file, group, record and unit separator characters.
+     */
+    private static final int LAST_SEPARATOR = 0x1F;
+    /**
+     * Channel the bytes are read from.
+     */
+    private final ReadableByteChannel channel;
+    /**
+     * Buffer of bytes read from the channel but not yet used.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * Bytes of the current token or line.
+     */
+    private byte[] token;
+    /**
+     * Line of the next byte, starting from 1.
+     */
+    private int line;
+    /**
+     * Column of the next byte, starting from 1.
+     */
+    private int column;
+    /**
+     * Determines whether the last byte was a carriage return.
+     */
+    private boolean isAfterReturn;
+    /**
+     * Line of the last token.
+     */
+    private int tokenLine;
+    /**
+     * Column of the last token.
+     */
+    private int tokenColumn;
+
+    /**
+     * Creates a tokenizer that reads from a channel.
+     * @param channel channel to read the level from.
+     */
+    public LevelTokenizer(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+        this.token = new byte[TOKEN_SIZE];
+        this.line = 1;
+        this.column = 1;
+        this.tokenLine = 1;
+        this.tokenColumn = 1;
+    }
+
+    /**
+     * Reads the next token, skipping any whitespace before it.
+     * @return next token, null if there are no more tokens.
+     */
+    public String next() {
+        int b = peek();
+        // Skip the whitespace before the token.
+        while (b != END && isWhitespace(b)) {
+            read();
+            b = peek();
+        }
+
+        // There is no token if the end has been reached.
+        if (b == END) {
+            return null;
+        }
+
+        tokenLine = line;
+        tokenColumn = column;
+        int length = 0;
+        // Keep every byte until the next whitespace.
+        while (b != END && !isWhitespace(b)) {
+            length = append(length, read());
+            b = peek();
+        }
+
+        return new String(token, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the next token as an integer.
+     * @param name name of the value, used in the error message.
+     * @return value of the token.
+     * @throws LevelFormatException if the token is not an integer.
+     */
+    public int nextInt(String name) {
+        String value = nextValue(name);
+        /*
+         * Try to parse the token.
+         * Catches if the token is not an integer.
+         */
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw error(String.format(
+                    "Expected %s but found \"%s\"", name, value));
+        }
+    }
+
+    /**
+     * Reads the next token as a decimal number.
+     * @param name name of the value, used in the error message.
+     * @return value of the token.
+     * @throws LevelFormatException if the token is not a number.
+     */
+    public double nextDouble(String name) {
+        String value = nextValue(name);
+        /*
+         * Try to parse the token.
+         * Catches if the token is not a number.
+         */
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw error(String.format(
+                    "Expected %s but found \"%s\"", name, value));
+        }
+    }
+
+    /**
+     * Reads the next token of a value that has to be there.
+     * @param name name of the value, used in the error message.
+     * @return next token.
+     * @throws LevelFormatException if there are no more tokens.
+     */
+    private String nextValue(String name) {
+        String value = next();
+        // Report the end of the file as the position of the error.
+        if (value == null) {
+            tokenLine = line;
+            tokenColumn = column;
+            throw error(String.format(
+                    "Expected %s but reached the end of the file", name));
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks whether there is another line, even an empty one.
+     * @return there are bytes left or not.
+     */
+    public boolean hasNextLine() {
+        return peek() != END;
+    }
+
+    /**
+     * Reads the rest of the current line without its line break.
+     * @return rest of the line, null if there are no more bytes.
+     */
+    public String nextLine() {
+        int b = peek();
+        // There is no line if the end has been reached.
+        if (b == END) {
+            return null;
+        }
+
+        int length = 0;
+        // Keep every byte until the line break.
+        while (b != END && b != '\n' && b != '\r') {
+            length = append(length, read());
+            b = peek();
+        }
+
+        /*
+         * Skip the line break, which is two bytes if it is a
+         * carriage return followed by a line feed.
+         */
+        if (read() == '\r' && peek() == '\n') {
+            read();
+        }
+
+        return new String(token, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates an error at the position of the last token.
+     * @param message description of the error.
+     * @return exception to be thrown.
+     */
+    public LevelFormatException error(String message) {
+        return new LevelFormatException(message, tokenLine, tokenColumn);
+    }
+
+    /**
+     * Closes the channel.
+     */
+    @Override
+    public void close() {
+        /*
+         * Try to close the channel.
+         * Catches if the channel cannot be closed.
+         */
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds a byte to the current token, grows the token if it is full.
+     * @param length length of the token.
+     * @param b byte to be added.
+     * @return new length of the token.
+     */
+    private int append(int length, int b) {
+        // Double the size of the token if it is full.
+        if (length == token.length) {
+            byte[] bigger = new byte[token.length * 2];
+            System.arraycopy(token, 0, bigger, 0, length);
+            token = bigger;
+        }
+
+        token[length] = (byte) b;
+        return length + 1;
+    }
+
+    /**
+     * Gets the next byte without using it, fills the buffer from
+     * the channel if it is empty.
+     * @return next byte, END if there are no more bytes.
+     */
+    private int peek() {
+        // Fill the buffer again if every byte has been used.
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int count;
+            /*
+             * Try to read from the channel.
+             * Catches if the channel cannot be read.
+             */
+            try {
+                count = channel.read(buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            buffer.flip();
+            // There are no more bytes if the channel has ended.
+            if (count <= 0) {
+                return END;
+            }
+        }
+
+        return buffer.get(buffer.position()) & UNSIGNED;
+    }
+
+    /**
+     * Uses the next byte and moves the line and column past it.
+     * @return byte used, END if there are no more bytes.
+     */
+    private int read() {
+        int b = peek();
+        // Nothing moves if there are no more bytes.
+        if (b == END) {
+            return END;
+        }
+
+        buffer.get();
+        /*
+         * A line feed right after a carriage return is part of the
+         * same line break. Continuation bytes are part of the same
+         * character, so they do not move the column.
+         */
+        if (b == '\r' || (b == '\n' && !isAfterReturn)) {
+            line++;
+            column = 1;
+        } else if (b != '\n'
+                && (b & CONTINUATION_MASK) != CONTINUATION) {
+            column++;
+        }
+
+        isAfterReturn = b == '\r';
+        return b;
+    }
+
+    /**
+     * Checks whether a byte is whitespace, the same characters as
+     * the whitespace of Java.
+     * @param b byte to be checked.
+     * @return byte is whitespace or not.
+     */
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == VERTICAL_TAB
+                || b == '\f' || b == '\r'
+                || (b >= FIRST_SEPARATOR && b <= LAST_SEPARATOR);
+    }
+}
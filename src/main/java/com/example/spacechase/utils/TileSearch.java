@@ -0,0 +1,226 @@
+package com.example.spacechase.utils;
+
+import com.example.spacechase.models.items.Gate;
+import com.example.spacechase.models.level.Tile;
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * This class represents a breadth first search over the tile indices
+ * of a tile map. It does not clone paths while searching, instead it
+ * keeps a visited bitset, a parent index array and an int ring buffer
+ * queue that are reused by every search, so nothing is allocated. The
+ * path is read back through the parent of each tile.
+ * Ties between paths of the same length are broken by the order of
+ * {@link Direction}.
+ * @author Tristan Tsang
+ * @version 1.0.2
+ */
+public class TileSearch {
+    /**
+     * Parent index of the root tile.
+     */
+    private static final int NO_PARENT = -1;
+    /**
+     * All directions in order of priority.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+    /**
+     * Tile map to be searched.
+     */
+    private final Tile[][] tileMap;
+    /**
+     * Width of the tile map.
+     */
+    private final int width;
+    /**
+     * Tiles that have been visited in the current search.
+     */
+    private final BitSet visited;
+    /**
+     * Index of the tile that each tile was reached from.
+     */
+    private final int[] parents;
+    /**
+     * Number of steps from the root to each tile.
+     */
+    private final int[] depths;
+    /**
+     * Ring buffer of tile indices waiting to be expanded.
+     */
+    private final int[] queue;
+    /**
+     * Position of the next index to be polled from the queue.
+     */
+    private int head;
+    /**
+     * Number of indices in the queue.
+     */
+    private int size;
+
+    /**
+     * Creates a search engine for a tile map.
+     * @param tileMap tile map to be searched.
+     */
+    public TileSearch(Tile[][] tileMap) {
+        this.tileMap = tileMap;
+        this.width = tileMap[0].length;
+
+        int count = width * tileMap.length;
+        this.visited = new BitSet(count);
+        this.parents = new int[count];
+        this.depths = new int[count];
+        this.queue = new int[count];
+    }
+
+    /**
+     * Searches through the map using Breadth First Search until
+     * the closest target tile is reached. When several targets are
+     * equally close, the target that comes first in reading order of
+     * the map (row by row) is chosen, as items are held in that order
+     * by the level.
+     * The path to the target is read with {@link #getStep(Tile)}.
+     * @param root origin tile.
+     * @param isTarget whether a tile is a target.
+     * @return closest target tile, null if no target can be reached.
+     */
+    public Tile searchNearest(Tile root, Predicate<Tile> isTarget) {
+        reset();
+        offer(indexOf(root), NO_PARENT);
+        int found = NO_PARENT;
+
+        /*
+         * While there are tiles in the queue, poll the tile
+         * and check if it is a target.
+         */
+        while (size > 0) {
+            int index = poll();
+
+            /*
+             * Once a target is found, only the rest of the tiles
+             * with the same distance can still be a closer target.
+             */
+            if (found != NO_PARENT && depths[index] > depths[found]) {
+                break;
+            }
+
+            Tile tile = tileAt(index);
+            /*
+             * Keep the target if it is the first one found or if it
+             * comes before the last one in reading order. Otherwise,
+             * keep searching from the tile.
+             */
+            if (isTarget.test(tile)) {
+                if (found == NO_PARENT || index < found) {
+                    found = index;
+                }
+            } else if (found == NO_PARENT) {
+                expand(tile, index);
+            }
+        }
+
+        return found == NO_PARENT ? null : tileAt(found);
+    }
+
+    /**
+     * Gets the first step from the root of the last search along the
+     * shortest path to a tile that the search has reached.
+     * @param end tile reached by the last search.
+     * @return next tile from the root, null if there is no end or the
+     * end is the root.
+     */
+    public Tile getStep(Tile end) {
+        // There is no step to take if there is no end.
+        if (end == null) {
+            return null;
+        }
+
+        int index = indexOf(end);
+        // Walk back from the end until the tile reached from the root.
+        while (parents[index] != NO_PARENT
+                && parents[parents[index]] != NO_PARENT) {
+            index = parents[index];
+        }
+
+        return parents[index] == NO_PARENT ? null : tileAt(index);
+    }
+
+    /**
+     * Queues every link of the tile that has not been visited and
+     * has no character or gate on it.
+     * @param tile tile to expand.
+     * @param index index of the tile.
+     */
+    private void expand(Tile tile, int index) {
+        // For each possible direction, queue the link if it is valid.
+        for (Direction direction : DIRECTIONS) {
+            Tile link = tile.getLinkedTile(direction);
+
+            /*
+             * If a link exists where it has not been visited
+             * and has no character or gate on it, queue the link.
+             */
+            if (link != null
+                    && !(link.getItem() instanceof Gate)
+                    && link.getCharacter() == null) {
+                int linkIndex = indexOf(link);
+
+                // Queue the link if it is the first time reaching it.
+                if (!visited.get(linkIndex)) {
+                    offer(linkIndex, index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears the visited tiles and the queue from the last search.
+     */
+    private void reset() {
+        visited.clear();
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Marks the tile as visited and adds it to the rear of the queue.
+     * @param index index of the tile.
+     * @param parent index of the tile it is reached from.
+     */
+    private void offer(int index, int parent) {
+        visited.set(index);
+        parents[index] = parent;
+        depths[index] = parent == NO_PARENT ? 0 : depths[parent] + 1;
+        queue[(head + size) % queue.length] = index;
+        size++;
+    }
+
+    /**
+     * Removes the index at the front of the queue.
+     * @return index of the tile at the front of the queue.
+     */
+    private int poll() {
+        int index = queue[head];
+        head = (head + 1) % queue.length;
+        size--;
+        return index;
+    }
+
+    /**
+     * Gets the index of a tile in the tile map.
+     * @param tile tile.
+     * @return index of the tile.
+     */
+    private int indexOf(Tile tile) {
+        return tile.getY() * width + tile.getX();
+    }
+
+    /**
+     * Gets the tile of an index in the tile map.
+     * @param index index of the tile.
+     * @return tile of the index.
+     */
+    private Tile tileAt(int index) {
+        return tileMap[index / width][index % width];
+    }
+}
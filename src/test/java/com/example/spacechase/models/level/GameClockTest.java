@@ -0,0 +1,143 @@
+package com.example.spacechase.models.level;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.spacechase.models.Level;
+import com.example.spacechase.services.LevelTemplateCache;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a step of the game clock does not allocate, by counting the
+ * bytes allocated by the test thread while a headless level is stepped.
+ * Only bombs going off may allocate, within a small budget.
+ * @author Tristan Tsang
+ * @version 1.0.1
+ */
+class GameClockTest {
+    /**
+     * Number of levels bundled with the game.
+     */
+    private static final int LEVEL_COUNT = 10;
+    /**
+     * Time given to the level so that it does not run out while stepped.
+     */
+    private static final double LEVEL_TIME = 1e9;
+    /**
+     * Most steps run on each level before allocations are counted, so
+     * that the code of the clock is compiled.
+     */
+    private static final int WARM_UP_STEPS = 20000;
+    /**
+     * Number of steps of a fresh level that are not counted, as they
+     * create the arrays and distance fields kept for the rest of the
+     * level.
+     */
+    private static final int SETTLE_STEPS = 200;
+    /**
+     * Most steps allocations are counted over.
+     */
+    private static final int MEASURED_STEPS = 20000;
+    /**
+     * Most bytes a level may allocate over the counted steps. A bomb
+     * that goes off schedules an action for each item it destroys,
+     * which happens a few times at most, not on every step.
+     */
+    private static final long ALLOCATION_BUDGET = 256;
+    /**
+     * Bean that counts the bytes allocated by a thread.
+     */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean)
+                    ManagementFactory.getThreadMXBean();
+    /**
+     * Fresh levels to step.
+     */
+    private static final LevelTemplateCache TEMPLATES =
+            new LevelTemplateCache();
+
+    /**
+     * Checks that stepping each bundled level allocates no more than the
+     * budget once the clock has warmed up.
+     * @throws FileNotFoundException if a level can not be read.
+     */
+    @Test
+    void stepDoesNotAllocate() throws FileNotFoundException {
+        // Warm up the clock on a copy of every level first.
+        for (int id = 1; id <= LEVEL_COUNT; id++) {
+            runSteps(createLevel(id), WARM_UP_STEPS);
+        }
+
+        // Count the allocations of a fresh copy of every level.
+        for (int id = 1; id <= LEVEL_COUNT; id++) {
+            long allocated = allocatedBytes(id);
+            assertTrue(allocated <= ALLOCATION_BUDGET, allocated
+                    + " bytes allocated stepping level " + id);
+        }
+    }
+
+    /**
+     * Steps a fresh level until it ends and counts the bytes allocated
+     * by all of its steps, after the first steps that set up the level.
+     * @param id id of the level.
+     * @return bytes allocated by the counted steps.
+     * @throws FileNotFoundException if the level can not be read.
+     */
+    private static long allocatedBytes(int id)
+            throws FileNotFoundException {
+        Level level = createLevel(id);
+        runSteps(level, SETTLE_STEPS);
+
+        long threadId = Thread.currentThread().getId();
+        long overhead = allocatedBytes(threadId);
+        overhead = allocatedBytes(threadId) - overhead;
+        long before = allocatedBytes(threadId);
+        int steps = runSteps(level, MEASURED_STEPS);
+        long allocated = allocatedBytes(threadId) - before - overhead;
+
+        assertTrue(steps > 0, "level " + id + " ended while set up");
+        return allocated;
+    }
+
+    /**
+     * Creates a fresh copy of a bundled level that does not run out of
+     * time.
+     * @param id id of the level.
+     * @return fresh level.
+     * @throws FileNotFoundException if the level can not be read.
+     */
+    private static Level createLevel(int id) throws FileNotFoundException {
+        Level level = TEMPLATES.get(id).createLevel(new File(id + ".txt"));
+        level.setTime(LEVEL_TIME);
+        return level;
+    }
+
+    /**
+     * Steps a level until it ends or a number of steps have been run.
+     * @param level level to step.
+     * @param maxSteps most steps to run.
+     * @return number of steps run.
+     */
+    private static int runSteps(Level level, int maxSteps) {
+        GameClock clock = level.getClock();
+        int steps = 0;
+        // Step the level while it is running.
+        while (steps < maxSteps && !level.isEnded()) {
+            clock.step();
+            steps++;
+        }
+
+        return steps;
+    }
+
+    /**
+     * Gets the number of bytes a thread has allocated so far.
+     * @param threadId id of the thread.
+     * @return allocated bytes.
+     */
+    private static long allocatedBytes(long threadId) {
+        return THREADS.getThreadAllocatedBytes(threadId);
+    }
+}
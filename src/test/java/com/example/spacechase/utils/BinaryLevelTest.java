@@ -0,0 +1,68 @@
+package com.example.spacechase.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests converting the bundled levels between the text and binary
+ * formats with the converter, and that a binary level is looked up over
+ * a text level with the same id.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+class BinaryLevelTest {
+    /**
+     * Number of levels bundled with the game.
+     */
+    private static final int LEVEL_COUNT = 10;
+    /**
+     * Directory the converted level files are written to.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks that every bundled level reads the same after it has been
+     * converted to a binary level and back to a text level.
+     * @throws IOException if a level can not be read or written.
+     */
+    @Test
+    void convertsLevelsBothWays() throws IOException {
+        // Convert a copy of every bundled level both ways.
+        for (int id = 1; id <= LEVEL_COUNT; id++) {
+            File fresh = Data.getFreshLevelFile(id);
+            File text = directory.resolve(fresh.getName()).toFile();
+            Files.copy(fresh.toPath(), text.toPath());
+            String expected = Data.readLevel(text).toString();
+
+            BinaryLevel.main(new String[] {text.getPath()});
+            File binary = Data.getLevelFile(directory.toFile(), id);
+            assertEquals(new File(directory.toFile(),
+                    id + BinaryLevel.EXTENSION), binary);
+            assertEquals(expected, Data.readLevel(binary).toString(),
+                    "binary level " + id);
+
+            Files.delete(text.toPath());
+            BinaryLevel.main(new String[] {binary.getPath()});
+            assertEquals(expected, Data.readLevel(text).toString(),
+                    "text level " + id);
+        }
+    }
+
+    /**
+     * Checks that a text level is looked up when there is no binary
+     * level with the same id.
+     */
+    @Test
+    void looksUpTextLevelWithoutBinaryLevel() {
+        assertEquals(new File(directory.toFile(),
+                        1 + BinaryLevel.TEXT_EXTENSION),
+                Data.getLevelFile(directory.toFile(), 1));
+    }
+}
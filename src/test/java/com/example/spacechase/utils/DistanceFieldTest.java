@@ -0,0 +1,368 @@
+package com.example.spacechase.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.spacechase.models.Level;
+import com.example.spacechase.models.items.Bomb;
+import com.example.spacechase.models.items.Gate;
+import com.example.spacechase.models.items.Item;
+import com.example.spacechase.models.items.Note;
+import com.example.spacechase.models.level.Tile;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the search a smart thief uses to find its closest item against
+ * the search it replaced, which ran one breadth first search from the
+ * thief for every item of the level and kept the first closest item.
+ * Both searches walk around characters and gates, and break ties
+ * between paths of the same length by the order of directions.
+ * @author Tristan Tsang
+ * @version 1.0.1
+ */
+class DistanceFieldTest {
+    /**
+     * Number of tiles in a row and number of rows of the test levels.
+     */
+    private static final int SIZE = 20;
+    /**
+     * Number of random test levels.
+     */
+    private static final int LEVEL_COUNT = 10;
+    /**
+     * Number of tiles in a row and number of rows of the benchmark level.
+     */
+    private static final int BENCHMARK_SIZE = 40;
+    /**
+     * Colours a tile can be made of.
+     */
+    private static final String COLOURS = "RGBY";
+    /**
+     * Number of colours of a tile.
+     */
+    private static final int TILE_COLOURS = 4;
+    /**
+     * Entities that can be put on a tile: items, a gate and characters.
+     */
+    private static final char[] ENTITIES = {'Y', '@', '*', '(', 'S', 'F'};
+    /**
+     * Number of tiles out of 1000 that each entity is put on.
+     */
+    private static final int[] ENTITY_RATES = {40, 10, 10, 20, 30, 30};
+    /**
+     * Tiles out of 1000, that entity rates are given in.
+     */
+    private static final int RATE_SCALE = 1000;
+    /**
+     * Number of times each search is run before it is timed.
+     */
+    private static final int WARM_UP_RUNS = 3;
+    /**
+     * Number of tiles that each search is timed from.
+     */
+    private static final int TIMED_STARTS = 200;
+    /**
+     * Number of nanoseconds in a millisecond.
+     */
+    private static final double MILLISECOND = 1e6;
+    /**
+     * Items a smart thief heads for, the same as in SmartThief.
+     */
+    private static final Predicate<Tile> TARGETS = tile -> {
+        Item item = tile.getItem();
+        return item != null
+                && !(item instanceof Gate
+                || item instanceof Note
+                || item instanceof Bomb);
+    };
+    /**
+     * Level with a smart thief on the left of a corridor with a
+     * character in it, an item on the right of the corridor, and a
+     * longer path to the item over the top row.
+     */
+    private static final String CORRIDOR_LEVEL = """
+            5 2 100.00 0
+            RRRR_ RRRR_ RRRR_ RRRR_ RRRR_
+            RRGGS GGGG_ GGGGF GGGG_ RRGGY
+            """;
+    /**
+     * Directory the test level files are written to.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks that the item chosen and the step taken from every tile of
+     * random levels are the same as searching for every item on its own.
+     * Characters stand in the way of many of the paths.
+     * @throws IOException if a level file can not be written.
+     */
+    @Test
+    void stepsMatchPerItemSearch() throws IOException {
+        // Compare the searches on every random level.
+        for (int seed = 0; seed < LEVEL_COUNT; seed++) {
+            Level level = createLevel(SIZE, seed);
+            DistanceFieldCache cache = level.getDistanceFields();
+
+            // Compare the searches from every tile without a gate.
+            for (Tile[] row : level.getTileMap()) {
+                for (Tile start : row) {
+                    // Skip tiles that can not be stood on.
+                    if (!(start.getItem() instanceof Gate)) {
+                        String message = "level " + seed + ", from "
+                                + start.getX() + "," + start.getY();
+                        List<Tile> expected = searchEachItem(level, start);
+
+                        assertEquals(getEnd(expected),
+                                findTarget(level, start), message);
+                        assertEquals(getStep(expected),
+                                cache.nextStep(TARGETS, start), message);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that a thief goes around a character standing in the short
+     * corridor to its item, taking the longer path over the top row
+     * instead of walking into the corridor.
+     * @throws IOException if the level file can not be written.
+     */
+    @Test
+    void goesAroundCharacterInCorridor() throws IOException {
+        Level corridor = readLevel(CORRIDOR_LEVEL);
+        Tile[][] tiles = corridor.getTileMap();
+        DistanceFieldCache cache = corridor.getDistanceFields();
+
+        assertEquals(tiles[0][0], cache.nextStep(TARGETS, tiles[1][0]));
+        assertEquals(1, cache.getSearches());
+
+        // Once the corridor is empty, the field is followed through it.
+        tiles[1][2].setCharacter(null);
+        assertEquals(tiles[1][1], cache.nextStep(TARGETS, tiles[1][0]));
+        assertEquals(1, cache.getSearches());
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Times finding the next step from many tiles with the distance
+     * field against searching for every item. The field is built again
+     * for each step, the same as when the level changes every tick.
+     * Only run as a benchmark, as the times depend on the machine.
+     * @throws IOException if the level file can not be written.
+     */
+    @Test
+    @Tag("benchmark")
+    void comparePerItemSearch() throws IOException {
+        Level level = createLevel(BENCHMARK_SIZE, 0);
+        DistanceField field = new DistanceField(level.getTileMap(), TARGETS);
+        Tile[] starts = new Tile[TIMED_STARTS];
+        Random random = new Random(TIMED_STARTS);
+
+        // Pick random tiles to search from.
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = level.getTileMap()[random.nextInt(BENCHMARK_SIZE)]
+                    [random.nextInt(BENCHMARK_SIZE)];
+        }
+
+        long fieldTime = 0;
+        long loopTime = 0;
+        // Time both searches once warmed up.
+        for (int run = 0; run <= WARM_UP_RUNS; run++) {
+            long start = System.nanoTime();
+            // Build the field and read the step for each tile.
+            for (Tile tile : starts) {
+                field.build(run);
+                field.nextStep(tile);
+            }
+            fieldTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            // Search for every item from each tile.
+            for (Tile tile : starts) {
+                searchEachItem(level, tile);
+            }
+            loopTime = System.nanoTime() - start;
+        }
+
+        System.out.printf("Closest item of %d tiles, %d items: "
+                        + "distance field %.1f ms, per-item search %.1f ms%n",
+                TIMED_STARTS, level.getItems().size(),
+                fieldTime / MILLISECOND, loopTime / MILLISECOND);
+    }
+
+    /**
+     * Finds the item a smart thief heads for from a tile: the target of
+     * the field if its path is clear, otherwise the closest target found
+     * by searching around characters.
+     * @param level level to search.
+     * @param tile tile to move from.
+     * @return tile of the chosen item, null if none can be reached.
+     */
+    private static Tile findTarget(Level level, Tile tile) {
+        DistanceField field = level.getDistanceFields().get(TARGETS);
+        return field.isClear(tile)
+                ? field.getTarget(tile)
+                : level.getTileSearch().searchNearest(tile, TARGETS);
+    }
+
+    /**
+     * Finds the path to the closest item the same way the thief used
+     * to, with a breadth first search from the tile for each item of the
+     * level, keeping the first item that is closer than the last one.
+     * @param level level to search.
+     * @param start tile to search from.
+     * @return tiles of the path to the closest item, null if none can be
+     * reached.
+     */
+    private static List<Tile> searchEachItem(Level level, Tile start) {
+        List<Tile> closest = null;
+        // Search for each item a smart thief heads for.
+        for (Item item : level.getItems()) {
+            // Skip items the thief does not head for.
+            if (TARGETS.test(item.getTile())) {
+                List<Tile> path = search(start, item.getTile());
+                // Keep the path if it is shorter than the last one.
+                if (path != null
+                        && (closest == null || path.size() < closest.size())) {
+                    closest = path;
+                }
+            }
+        }
+
+        return closest;
+    }
+
+    /**
+     * Finds the path between two tiles with a breadth first search that
+     * follows links in the order of directions. Tiles with a character
+     * or a gate on them can not be walked onto.
+     * @param start tile to search from.
+     * @param end tile to search for.
+     * @return tiles of the path, null if the end can not be reached.
+     */
+    private static List<Tile> search(Tile start, Tile end) {
+        HashMap<Tile, Tile> parents = new HashMap<>();
+        ArrayDeque<Tile> queue = new ArrayDeque<>();
+        parents.put(start, start);
+        queue.add(start);
+
+        // Expand the closest tile until the end is reached.
+        while (!queue.isEmpty()) {
+            Tile tile = queue.poll();
+            // Follow the parents back to the start once the end is reached.
+            if (tile == end) {
+                List<Tile> path = new ArrayList<>();
+                for (Tile t = end; t != start; t = parents.get(t)) {
+                    path.add(t);
+                }
+                path.add(start);
+                Collections.reverse(path);
+                return path;
+            }
+
+            // Queue each free link that has not been reached.
+            for (Direction direction : Direction.values()) {
+                Tile link = tile.getLinkedTile(direction);
+                if (link != null && link.getCharacter() == null
+                        && !(link.getItem() instanceof Gate)
+                        && !parents.containsKey(link)) {
+                    parents.put(link, tile);
+                    queue.add(link);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the last tile of a path.
+     * @param path tiles of the path, may be null.
+     * @return last tile, null if there is no path.
+     */
+    private static Tile getEnd(List<Tile> path) {
+        return path == null ? null : path.get(path.size() - 1);
+    }
+
+    /**
+     * Gets the tile after the start of a path.
+     * @param path tiles of the path, may be null.
+     * @return first step, null if there is no path or no step to take.
+     */
+    private static Tile getStep(List<Tile> path) {
+        return path == null || path.size() < 2 ? null : path.get(1);
+    }
+
+    /**
+     * Creates a random test level.
+     * @param size number of tiles in a row and number of rows.
+     * @param seed seed of the level.
+     * @return random level.
+     * @throws IOException if the level file can not be written.
+     */
+    private Level createLevel(int size, long seed) throws IOException {
+        Random random = new Random(seed);
+        StringBuilder content = new StringBuilder();
+        content.append(size).append(' ').append(size).append(" 100.00 0\n");
+
+        // Write a random tile for every position of the level.
+        for (int y = 0; y < size; y++) {
+            // Write each tile of the row.
+            for (int x = 0; x < size; x++) {
+                // Give the tile four random colours.
+                for (int i = 0; i < TILE_COLOURS; i++) {
+                    content.append(COLOURS.charAt(
+                            random.nextInt(COLOURS.length())));
+                }
+                content.append(randomEntity(random)).append(' ');
+            }
+            content.append('\n');
+        }
+
+        return readLevel(content.toString());
+    }
+
+    /**
+     * Writes a level file to the test directory and reads it.
+     * @param content content of the level file.
+     * @return level that has been read.
+     * @throws IOException if the level file can not be written.
+     */
+    private Level readLevel(String content) throws IOException {
+        File file = directory.resolve("1.txt").toFile();
+        Files.writeString(file.toPath(), content);
+        return Data.readLevel(file);
+    }
+
+    /**
+     * Picks a random entity for a tile.
+     * @param random random generator.
+     * @return entity type, or '_' for no entity.
+     */
+    private static char randomEntity(Random random) {
+        int roll = random.nextInt(RATE_SCALE);
+        // Find the entity the roll falls on.
+        for (int i = 0; i < ENTITIES.length; i++) {
+            roll -= ENTITY_RATES[i];
+            if (roll < 0) {
+                return ENTITIES[i];
+            }
+        }
+
+        return '_';
+    }
+}
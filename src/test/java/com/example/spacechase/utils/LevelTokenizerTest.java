@@ -0,0 +1,364 @@
+package com.example.spacechase.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.spacechase.models.Level;
+import com.example.spacechase.models.items.Note;
+import com.example.spacechase.models.level.Tile;
+import com.example.spacechase.models.level.TileGrid;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests reading levels with the level tokenizer against the Scanner
+ * reader it replaced, the position of format errors and how fast
+ * tokens are read.
+ * @author Tristan Tsang
+ * @version 1.0.1
+ */
+class LevelTokenizerTest {
+    /**
+     * Number of levels bundled with the game.
+     */
+    private static final int LEVEL_COUNT = 10;
+    /**
+     * Format of tile data accepted by the Scanner reader.
+     */
+    private static final String DATA_FORMAT = "[A-Z]{1,4}(.)+";
+    /**
+     * Number of colours of a tile.
+     */
+    private static final int DATA_LENGTH = 4;
+    /**
+     * Changes made to the bundled levels, so that both readers are
+     * compared on other line breaks and spacing as well: none, line
+     * feeds turned into carriage returns and line feeds, no line break
+     * at the end, and more spacing between tokens.
+     */
+    private static final List<UnaryOperator<String>> VARIANTS = List.of(
+            content -> content,
+            content -> content.replace("\r\n", "\n").replace("\n", "\r\n"),
+            String::stripTrailing,
+            content -> content.replace(" ", " \t "));
+    /**
+     * Number of tiles in a row and number of rows of the benchmark level.
+     */
+    private static final int BENCHMARK_SIZE = 500;
+    /**
+     * Colours a tile of the benchmark level can be made of.
+     */
+    private static final String COLOURS = "RGBYCM";
+    /**
+     * Number of times each reader is run before it is timed.
+     */
+    private static final int WARM_UP_RUNS = 3;
+    /**
+     * Number of bytes in a megabyte.
+     */
+    private static final double MEGABYTE = 1024 * 1024;
+    /**
+     * Number of nanoseconds in a second.
+     */
+    private static final double SECOND = 1e9;
+    /**
+     * Directory the test level files are written to.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks that every bundled level, and each variant of it, is read
+     * the same as by the Scanner reader.
+     * @throws IOException if a level can not be read or written.
+     */
+    @Test
+    void readsLevelsSameAsScanner() throws IOException {
+        // Compare each variant of every bundled level.
+        for (int id = 1; id <= LEVEL_COUNT; id++) {
+            String content = Files.readString(
+                    Data.getFreshLevelFile(id).toPath());
+            for (int i = 0; i < VARIANTS.size(); i++) {
+                File file = write(id, VARIANTS.get(i).apply(content));
+                assertEquals(readWithScanner(file).toString(),
+                        Data.readLevel(file).toString(),
+                        "level " + id + ", variant " + i);
+            }
+        }
+    }
+
+    /**
+     * Checks that a value of the header that is not a number is reported
+     * at the start of its token.
+     */
+    @Test
+    void reportsNonNumericHeader() {
+        LevelFormatException e = readError("7 x 300.00 0\n");
+
+        assertPosition(1, 3, e);
+        assertTrue(e.getMessage().contains("height"), e.getMessage());
+    }
+
+    /**
+     * Checks that a missing value of the header is reported at the end
+     * of the file.
+     */
+    @Test
+    void reportsMissingHeaderAtEndOfFile() {
+        LevelFormatException e = readError("7 7\n  300.00");
+
+        assertPosition(2, 9, e);
+        assertTrue(e.getMessage().contains("score"), e.getMessage());
+    }
+
+    /**
+     * Checks that a value of the header is reported on its own line
+     * after blank lines.
+     */
+    @Test
+    void reportsHeaderAfterBlankLines() {
+        assertPosition(3, 3, readError("2\n\n  x 10.00 0\n"));
+    }
+
+    /**
+     * Checks that a tile with fewer than four colours is reported on the
+     * right line when lines end with a carriage return and a line feed.
+     */
+    @Test
+    void reportsShortTileAfterCarriageReturn() {
+        LevelFormatException e = readError("2 1 10.00 0\r\nRRRR_ RR_\r\n");
+
+        assertPosition(2, 7, e);
+        assertTrue(e.getMessage().contains("RR_"), e.getMessage());
+    }
+
+    /**
+     * Checks that a character encoded in several bytes is counted as a
+     * single column.
+     */
+    @Test
+    void countsMultiByteCharacterAsOneColumn() {
+        assertPosition(2, 7, readError("2 1 10.00 0\nRRRRé RR\n"));
+    }
+
+    /**
+     * Times reading every token of a large level with the tokenizer and
+     * with Scanner checking each token against the tile data format,
+     * which is what the level reader did before. Only run as a
+     * benchmark, as the times depend on the machine.
+     * @throws IOException if the level can not be read or written.
+     */
+    @Test
+    @Tag("benchmark")
+    void compareScanner() throws IOException {
+        File file = write(1, createBenchmarkLevel());
+        double megabytes = file.length() / MEGABYTE;
+
+        long tokenizerTime = 0;
+        long scannerTime = 0;
+        // Time both readers once warmed up.
+        for (int run = 0; run <= WARM_UP_RUNS; run++) {
+            long start = System.nanoTime();
+            int tokens = tokenize(file);
+            tokenizerTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            assertEquals(tokens, scan(file));
+            scannerTime = System.nanoTime() - start;
+        }
+
+        System.out.printf("Tokenizing %.1f MB: tokenizer %.1f MB/s, "
+                        + "Scanner %.1f MB/s%n", megabytes,
+                megabytes / (tokenizerTime / SECOND),
+                megabytes / (scannerTime / SECOND));
+    }
+
+    /**
+     * Reads a level the way it was read before the tokenizer, with
+     * Scanner and a regular expression check of each token.
+     * @param file level file.
+     * @return level that has been read.
+     * @throws IOException if the level can not be read.
+     */
+    private static Level readWithScanner(File file) throws IOException {
+        // Reads the level and closes the file once it has been read.
+        try (Scanner scan = new Scanner(file, StandardCharsets.UTF_8)) {
+            scan.useLocale(Locale.ROOT);
+            final int width = scan.nextInt();
+            final int height = scan.nextInt();
+            final double time = scan.nextDouble();
+            final int score = scan.nextInt();
+
+            TileGrid grid = new TileGrid(width, height);
+            Level level = new Level(Data.getLevelId(file), file, time,
+                    score, grid);
+
+            int x = 0;
+            int y = 0;
+            boolean isLastTile = false;
+            // While the current tile is not the last tile, read tiles.
+            while (scan.hasNext() && !isLastTile) {
+                String tileData = scan.next();
+
+                // Create the tile if the tile data has the right format.
+                if (tileData.matches(DATA_FORMAT)) {
+                    Tile tile = grid.getTileMap()[y][x];
+                    grid.setColours(tile.getIndex(),
+                            tileData.substring(0, DATA_LENGTH));
+
+                    // Add each entity of the tile data.
+                    for (char type : tileData.substring(DATA_LENGTH)
+                            .toCharArray()) {
+                        Data.addEntity(level, tile, type);
+                    }
+
+                    x++;
+                    // If x has reached the width, move onto the next row.
+                    if (x > width - 1) {
+                        x = 0;
+                        y++;
+                    }
+
+                    isLastTile = y > height - 1;
+                }
+            }
+
+            level.linkTiles();
+
+            // Sets message for each note.
+            for (Note note : level.getItems(Note.class)) {
+                String message = scan.hasNextLine() ? scan.nextLine() : "";
+
+                // Goes to next line if line is blank.
+                if (message.isBlank() && scan.hasNextLine()) {
+                    message = scan.nextLine();
+                }
+
+                note.setMessage(message);
+            }
+
+            return level;
+        }
+    }
+
+    /**
+     * Reads every token of a file with the tokenizer.
+     * @param file file to be read.
+     * @return number of tokens.
+     * @throws IOException if the file can not be read.
+     */
+    private static int tokenize(File file) throws IOException {
+        int count = 0;
+        // Reads the tokens and closes the file once they have been read.
+        try (LevelTokenizer tokens =
+                     new LevelTokenizer(FileChannel.open(file.toPath()))) {
+            // Count every token until there are none left.
+            while (tokens.next() != null) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Reads every token of a file with Scanner, checking each token
+     * against the tile data format.
+     * @param file file to be read.
+     * @return number of tokens.
+     * @throws IOException if the file can not be read.
+     */
+    private static int scan(File file) throws IOException {
+        int count = 0;
+        int tiles = 0;
+        // Reads the tokens and closes the file once they have been read.
+        try (Scanner scan = new Scanner(file, StandardCharsets.UTF_8)) {
+            // Count every token until there are none left.
+            while (scan.hasNext()) {
+                // Count the token as a tile if it has the right format.
+                if (scan.next().matches(DATA_FORMAT)) {
+                    tiles++;
+                }
+                count++;
+            }
+        }
+
+        assertEquals(BENCHMARK_SIZE * BENCHMARK_SIZE, tiles);
+        return count;
+    }
+
+    /**
+     * Creates the content of a large random level with no entities.
+     * @return content of the level file.
+     */
+    private static String createBenchmarkLevel() {
+        Random random = new Random(BENCHMARK_SIZE);
+        StringBuilder content = new StringBuilder();
+        content.append(BENCHMARK_SIZE).append(' ').append(BENCHMARK_SIZE)
+                .append(" 100.00 0\n");
+
+        // Write a random tile for every position of the level.
+        for (int y = 0; y < BENCHMARK_SIZE; y++) {
+            // Write each tile of the row.
+            for (int x = 0; x < BENCHMARK_SIZE; x++) {
+                // Give the tile four random colours.
+                for (int i = 0; i < DATA_LENGTH; i++) {
+                    content.append(COLOURS.charAt(
+                            random.nextInt(COLOURS.length())));
+                }
+                content.append("_ ");
+            }
+            content.append('\n');
+        }
+
+        return content.toString();
+    }
+
+    /**
+     * Reads a level that is expected to have a format error.
+     * @param content content of the level file.
+     * @return error that was thrown.
+     */
+    private LevelFormatException readError(String content) {
+        return assertThrows(LevelFormatException.class,
+                () -> Data.readLevel(write(1, content)));
+    }
+
+    /**
+     * Checks the position of a format error.
+     * @param line expected line.
+     * @param column expected column.
+     * @param e error that was thrown.
+     */
+    private static void assertPosition(int line, int column,
+                                       LevelFormatException e) {
+        assertEquals(line + ":" + column,
+                e.getLine() + ":" + e.getColumn(), e.getMessage());
+    }
+
+    /**
+     * Writes a level file to the test directory.
+     * @param id id of the level, used as the name of the file.
+     * @param content content of the level file.
+     * @return level file.
+     * @throws IOException if the file can not be written.
+     */
+    private File write(int id, String content) throws IOException {
+        File file = directory.resolve(id + ".txt").toFile();
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+}
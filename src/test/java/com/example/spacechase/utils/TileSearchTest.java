@@ -0,0 +1,269 @@
+package com.example.spacechase.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.spacechase.models.Level;
+import com.example.spacechase.models.items.Gate;
+import com.example.spacechase.models.level.Tile;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the tile search against the breadth first search it replaced,
+ * which cloned the whole path for every link it followed. Both find
+ * paths of the same length. When several paths are as short, the tile
+ * search follows the order of directions, while the old search took
+ * whichever path its priority queue gave first.
+ * @author Tristan Tsang
+ * @version 1.0.0
+ */
+class TileSearchTest {
+    /**
+     * Number of tiles in a row and number of rows of the test levels,
+     * small enough for the old search to try every path.
+     */
+    private static final int SIZE = 4;
+    /**
+     * Number of random test levels.
+     */
+    private static final int LEVEL_COUNT = 100;
+    /**
+     * Colours a tile can be made of.
+     */
+    private static final String COLOURS = "RGB";
+    /**
+     * Number of colours of a tile.
+     */
+    private static final int TILE_COLOURS = 4;
+    /**
+     * Entities that can be put on a tile: characters, items and gates.
+     */
+    private static final String ENTITIES = "SFY(";
+    /**
+     * Number of tiles out of ten that have an entity on them.
+     */
+    private static final int ENTITY_RATE = 4;
+    /**
+     * Tiles out of ten, that the entity rate is given in.
+     */
+    private static final int RATE_SCALE = 10;
+    /**
+     * Directory the test level files are written to.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks that the path between every two tiles of random levels is
+     * as long as the path of the old search, and that it only walks
+     * through links without a character or a gate.
+     * @throws IOException if a level can not be read or written.
+     */
+    @Test
+    void pathsMatchOldSearch() throws IOException {
+        // Compare the paths of every random level.
+        for (int seed = 0; seed < LEVEL_COUNT; seed++) {
+            Level level = createLevel(seed);
+            TileSearch search = new TileSearch(level.getTileMap());
+
+            // Search from every tile to every other tile.
+            for (Tile[] rootRow : level.getTileMap()) {
+                for (Tile root : rootRow) {
+                    for (Tile[] endRow : level.getTileMap()) {
+                        for (Tile end : endRow) {
+                            assertSamePath(search, root, end,
+                                    "level " + seed + ", " + describe(root)
+                                            + " to " + describe(end));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that no step is taken from a tile that is its own target.
+     * @throws FileNotFoundException if a level can not be read.
+     */
+    @Test
+    void rootTargetHasNoStep() throws FileNotFoundException {
+        Level level = Data.readLevel(Data.getFreshLevelFile(1));
+        TileSearch search = new TileSearch(level.getTileMap());
+        Tile root = level.getTileMap()[0][0];
+
+        assertSame(root, search.searchNearest(root, tile -> tile == root));
+        assertNull(search.getStep(root));
+        assertNull(search.getStep(null));
+    }
+
+    /**
+     * Checks that the tile search finds a path as long as the old search
+     * and that the path can be walked.
+     * @param search tile search.
+     * @param root tile to start from.
+     * @param end tile to reach.
+     * @param message message shown if the paths are not the same.
+     */
+    private static void assertSamePath(TileSearch search, Tile root,
+                                       Tile end, String message) {
+        List<Tile> expected = searchWithOldSearch(root, end);
+        List<Tile> path = walk(search, root, end);
+
+        // Both searches must agree on whether there is a path.
+        if (expected == null) {
+            assertNull(path, message);
+        } else {
+            assertEquals(expected.size(), path.size(), message);
+            assertWalkable(path, message);
+        }
+    }
+
+    /**
+     * Creates a random test level.
+     * @param seed seed of the level.
+     * @return random level.
+     * @throws IOException if the level file can not be written.
+     */
+    private Level createLevel(long seed) throws IOException {
+        Random random = new Random(seed);
+        StringBuilder content = new StringBuilder();
+        content.append(SIZE).append(' ').append(SIZE).append(" 100.00 0\n");
+
+        // Write a random tile for every position of the level.
+        for (int i = 0; i < SIZE * SIZE; i++) {
+            // Give the tile four random colours.
+            for (int c = 0; c < TILE_COLOURS; c++) {
+                content.append(COLOURS.charAt(
+                        random.nextInt(COLOURS.length())));
+            }
+
+            // Put a random entity on some of the tiles.
+            if (random.nextInt(RATE_SCALE) < ENTITY_RATE) {
+                content.append(ENTITIES.charAt(
+                        random.nextInt(ENTITIES.length())));
+            }
+            content.append("_ ");
+        }
+
+        File file = directory.resolve("1.txt").toFile();
+        Files.writeString(file.toPath(), content);
+        return Data.readLevel(file);
+    }
+
+    /**
+     * Follows the tile search from one tile to another a step at a time.
+     * @param search tile search.
+     * @param root tile to start from.
+     * @param end tile to reach.
+     * @return tiles of the path, null if the end can not be reached.
+     */
+    private static List<Tile> walk(TileSearch search, Tile root, Tile end) {
+        List<Tile> path = new ArrayList<>();
+        path.add(root);
+        Tile tile = root;
+        // Take the next step until the end is reached.
+        while (tile != end) {
+            tile = search.getStep(search.searchNearest(tile, t -> t == end));
+            // Stop if the end can not be reached.
+            if (tile == null) {
+                return null;
+            }
+            path.add(tile);
+        }
+
+        return path;
+    }
+
+    /**
+     * Checks that every step of a path follows a link onto a tile
+     * without a character or a gate on it.
+     * @param path tiles of the path.
+     * @param message message shown if the path can not be walked.
+     */
+    private static void assertWalkable(List<Tile> path, String message) {
+        // Check each step of the path.
+        for (int i = 1; i < path.size(); i++) {
+            Tile tile = path.get(i);
+            assertTrue(isLinked(path.get(i - 1), tile), message);
+            assertNull(tile.getCharacter(), message);
+            assertTrue(!(tile.getItem() instanceof Gate), message);
+        }
+    }
+
+    /**
+     * Searches for a path the way the old breadth first search did,
+     * by cloning the path for every link that is followed.
+     * @param root tile to start from.
+     * @param end tile to reach.
+     * @return tiles of the path, null if the end can not be reached.
+     */
+    private static List<Tile> searchWithOldSearch(Tile root, Tile end) {
+        PriorityQueue<List<Tile>> paths =
+                new PriorityQueue<>(Comparator.comparingInt(List::size));
+        paths.add(List.of(root));
+
+        // Expand the shortest path until one reaches the end.
+        while (!paths.isEmpty()) {
+            List<Tile> path = paths.poll();
+            Tile tile = path.get(path.size() - 1);
+            // Return the path once it reaches the end.
+            if (tile == end) {
+                return path;
+            }
+
+            // Add a longer path for each link that can be walked onto.
+            for (Direction direction : Direction.values()) {
+                Tile link = tile.getLinkedTile(direction);
+                if (link != null
+                        && !(link.getItem() instanceof Gate)
+                        && link.getCharacter() == null
+                        && !path.contains(link)) {
+                    List<Tile> newPath = new ArrayList<>(path);
+                    newPath.add(link);
+                    paths.add(newPath);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks if a tile links onto another.
+     * @param tile tile to move from.
+     * @param link tile to move onto.
+     * @return whether the tile links onto the other tile.
+     */
+    private static boolean isLinked(Tile tile, Tile link) {
+        // Look for the link in every direction.
+        for (Direction direction : Direction.values()) {
+            if (tile.getLinkedTile(direction) == link) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Describes the position of a tile.
+     * @param tile tile.
+     * @return position of the tile.
+     */
+    private static String describe(Tile tile) {
+        return tile.getX() + "," + tile.getY();
+    }
+}